@@ -0,0 +1,41 @@
+package pt.taskflow.benchmarks;
+
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskIds;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Deterministic (fixed seed) task data shared by the benchmarks. */
+final class BenchmarkData {
+
+    static final String[] STATUSES = {"TODO", "DOING", "DONE"};
+    static final int PROJECTS = 20;
+    static final int ASSIGNEES = 50;
+
+    private BenchmarkData() {}
+
+    /** Tasks as the API returns them: every field set, created one second apart (newest first). */
+    static List<Task> tasks(int count) {
+        Random rnd = new Random(42);
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant created = now.minusSeconds(i);
+            tasks.add(Task.builder()
+                    .id(TaskIds.next())
+                    .title("Task " + i + " - review pull request and update docs")
+                    .description(i % 3 == 0 ? null : "Description of task " + i + ". ".repeat(8))
+                    .status(STATUSES[rnd.nextInt(STATUSES.length)])
+                    .projectId(String.valueOf(1 + rnd.nextInt(PROJECTS)))
+                    .assignee(i % 5 == 0 ? null : "user" + rnd.nextInt(ASSIGNEES))
+                    .createdAt(created)
+                    .updatedAt(created.plusSeconds(rnd.nextInt(3600)))
+                    .version((long) rnd.nextInt(5))
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,83 @@
+package pt.taskflow.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (e.g. from two commits), benchmark by benchmark.
+ *
+ *   java -cp target/benchmarks.jar pt.taskflow.benchmarks.BenchmarkDiff base.json new.json [thresholdPercent]
+ *
+ * A change is flagged only when it exceeds both the threshold (default 5%) and the
+ * combined 99.9% error of the two scores. Exits with status 1 if any benchmark regressed,
+ * so it can gate a CI step.
+ */
+public final class BenchmarkDiff {
+
+    private BenchmarkDiff() {}
+
+    record Score(String mode, double score, double error, String unit) {
+        /** Throughput modes: higher is better; time modes (avgt, sample, ss): lower is better. */
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkDiff <base.json> <new.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Map<String, Score> base = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "base", "new", "change");
+        for (Map.Entry<String, Score> e : current.entrySet()) {
+            Score now = e.getValue();
+            Score before = base.get(e.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", e.getKey(), "-", now.score(), "new");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100.0;
+            boolean significant = Math.abs(change) > threshold
+                    && Math.abs(now.score() - before.score()) > before.error() + now.error();
+            boolean worse = now.higherIsBetter() ? change < 0 : change > 0;
+            String verdict = !significant ? "" : worse ? "  REGRESSION" : "  improved";
+            if (significant && worse) regressions++;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s  %s%n",
+                    e.getKey(), before.score(), now.score(), change, verdict, now.unit());
+        }
+        for (String removed : base.keySet()) {
+            if (!current.containsKey(removed)) System.out.printf("%-90s %14s%n", removed, "(removed)");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " regression(s)");
+            System.exit(1);
+        }
+    }
+
+    /** Key: benchmark method + parameters, e.g. "TaskJsonBenchmark.serializeList{size=500}". */
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String name = run.path("benchmark").asText().replace("pt.taskflow.benchmarks.", "");
+            Map<String, String> params = new LinkedHashMap<>();
+            run.path("params").properties().forEach(p -> params.put(p.getKey(), p.getValue().asText()));
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0.0);
+            scores.put(name + (params.isEmpty() ? "" : params.toString()),
+                    new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                            Double.isNaN(error) ? 0.0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,72 @@
+package pt.taskflow.benchmarks;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.env.Environment;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import pt.taskflow.tasks.domain.ReactiveTaskRepository;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskRepository;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Just the persistence layer of tasks-service (no web, no Config Server, no caches):
+ * H2 in PostgreSQL mode as in the dev profile, and the JDBC settings of
+ * config-repo/tasks-service.yml. Without @EnableCaching the @Cacheable annotations on
+ * TaskRepository are inert, so every call reaches the database.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJpaRepositories(
+        basePackageClasses = TaskRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveTaskRepository.class))
+class BenchmarkJpaConfig {
+
+    /** Property holding the database name, so each trial gets a fresh database. */
+    static final String DB_NAME = "bench.db";
+
+    @Bean(destroyMethod = "close")
+    DataSource dataSource(Environment env) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl("jdbc:h2:mem:" + env.getRequiredProperty(DB_NAME) + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        ds.setUsername("sa");
+        ds.setPassword("");
+        return ds;
+    }
+
+    @Bean
+    LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
+        emf.setDataSource(dataSource);
+        emf.setPackagesToScan(Task.class.getPackageName());
+        emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        emf.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "none",
+                // Spring Boot's defaults: createdAt -> created_at, as in schema-h2.sql
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName(),
+                "hibernate.jdbc.batch_size", 50,
+                "hibernate.order_inserts", true,
+                "hibernate.order_updates", true,
+                "hibernate.query.in_clause_parameter_padding", true));
+        return emf;
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager(EntityManagerFactory emf) {
+        return new JpaTransactionManager(emf);
+    }
+}
@@ -0,0 +1,57 @@
+package pt.taskflow.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of target/benchmarks.jar: the JMH command line, plus a default JSON result file.
+ *
+ * Results are JSON (unless -rf says otherwise) and, unless -rff is given, go to
+ * target/jmh-results/<label>.json, where label is the -Dbench.label system property or
+ * else "git describe --always --dirty". Two such files (e.g. from two commits) can then
+ * be compared with BenchmarkDiff.
+ *
+ * Examples:
+ *   java -jar target/benchmarks.jar                          (everything, default settings)
+ *   java -jar target/benchmarks.jar TaskJson -p size=500     (one class, one parameter value)
+ *   java -jar target/benchmarks.jar -l                       (list benchmarks)
+ */
+public final class BenchmarkMain {
+
+    /** Directory of the default result files (relative to the working directory). */
+    static final Path RESULTS_DIR = Path.of("target", "jmh-results");
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        if (!jmhArgs.contains("-rff")) {
+            Files.createDirectories(RESULTS_DIR);
+            jmhArgs.addAll(0, List.of("-rff", RESULTS_DIR.resolve(label() + ".json").toString()));
+        }
+        if (!jmhArgs.contains("-rf")) jmhArgs.addAll(0, List.of("-rf", "json")); // JMH's default is CSV
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(String[]::new));
+    }
+
+    private static String label() {
+        String label = System.getProperty("bench.label");
+        if (label != null && !label.isBlank()) return label;
+        try {
+            Process git = new ProcessBuilder("git", "describe", "--always", "--dirty").start();
+            String out = new String(git.getInputStream().readAllBytes()).trim();
+            if (git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 && !out.isEmpty()) return out;
+        } catch (IOException e) {
+            // no git on this machine: fall through to a timestamp
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
@@ -0,0 +1,85 @@
+package pt.taskflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import pt.taskflow.configserver.ConfigServerApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client boots against the config-server: each JMH thread is one booting tasks-service pod
+ * fetching GET /tasks-service/docker (what spring.config.import: configserver: does), so the
+ * thread count (-t, default 400) is the number of pods starting at the same time.
+ *
+ * The server runs in-process with the "native" profile (../config-repo, i.e. run from
+ * benchmarks/ as the README says):
+ * - uncached:  every fetch resolves the YAML files again (as every fetch pulls in git mode).
+ * - cached:    CachingEnvironmentRepository answers from memory.
+ * - cached-304: as cached, and the client sends the ETag of its last fetch (If-None-Match),
+ *               so the answer is 304 without a body.
+ * Compare the p0.99 lines, e.g.
+ *   java -jar target/benchmarks.jar ConfigServerFetch -t 400
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class ConfigServerFetchBenchmark {
+
+    @Param({"uncached", "cached", "cached-304"})
+    String mode;
+
+    private ConfigurableApplicationContext server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new SpringApplicationBuilder(ConfigServerApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("native")
+                // Command-line arguments, and no application.yml: the shaded jar holds tasks-service's one
+                .run("--spring.config.name=config-server-benchmark",
+                        "--spring.application.name=config-server",
+                        "--spring.cloud.config.server.native.search-locations=file:../config-repo/",
+                        "--server.port=0",
+                        "--configserver.cache.enabled=" + !"uncached".equals(mode),
+                        "--configserver.etag.enabled=true",
+                        "--logging.level.root=WARN",
+                        // tasks-service (on the benchmark classpath) brings JPA, R2DBC and H2; the config-server has no database
+                        "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration");
+        int port = ((WebServerApplicationContext) server).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create("http://localhost:" + port + "/tasks-service/docker");
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if ("cached-304".equals(mode)) {
+            String etag = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding())
+                    .headers().firstValue("ETag").orElseThrow();
+            builder.header("If-None-Match", etag);
+        }
+        request = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public int fetchEnvironment() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
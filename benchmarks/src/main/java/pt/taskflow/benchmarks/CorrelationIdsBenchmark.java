@@ -0,0 +1,44 @@
+package pt.taskflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import pt.taskflow.tasks.config.CorrelationIds;
+import pt.taskflow.tasks.domain.TaskIds;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generators under concurrency: every JMH thread generates ids as fast as it can, like
+ * request threads without an incoming X-Correlation-Id.
+ *
+ * UUID.randomUUID() shares one SecureRandom, so its per-thread throughput drops as threads
+ * are added; CorrelationIds.next() (ULID) and TaskIds.next() (UUIDv7) use ThreadLocalRandom
+ * and should scale with the cores. Run with the machine's core count, and compare to -t 1:
+ *   java -jar target/benchmarks.jar CorrelationIds -t max
+ *   java -jar target/benchmarks.jar CorrelationIds -t 1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CorrelationIdsBenchmark {
+
+    @Benchmark
+    public String ulid() {
+        return CorrelationIds.next();
+    }
+
+    @Benchmark
+    public String uuidV7() {
+        return TaskIds.next();
+    }
+
+    /** What CorrelationIdFilter used before. */
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,15 @@
+package pt.taskflow.benchmarks;
+
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.OutputStream;
+
+/** Formats every event like a console/file appender would, then throws the bytes away. */
+public class DiscardingAppender<E> extends OutputStreamAppender<E> {
+
+    @Override
+    public void start() {
+        setOutputStream(OutputStream.nullOutputStream());
+        super.start();
+    }
+}
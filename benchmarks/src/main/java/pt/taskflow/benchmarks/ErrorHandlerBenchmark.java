@@ -0,0 +1,60 @@
+package pt.taskflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.server.ResponseStatusException;
+import pt.taskflow.tasks.api.ErrorResponse;
+import pt.taskflow.tasks.api.GlobalExceptionHandler;
+import pt.taskflow.tasks.config.CorrelationIdFilter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an error response. GlobalExceptionHandler.build is private, so it is measured
+ * through the public handlers that only delegate to it (handleSpring, handleGeneric).
+ * The *Thrown variants also create the exception, which (stack trace capture) usually
+ * costs more than building the body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ErrorHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/tasks/abc/status");
+    private final ResponseStatusException conflict =
+            new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified concurrently");
+    private final RuntimeException unexpected = new IllegalStateException("boom");
+
+    @Setup
+    public void setup() {
+        MDC.put(CorrelationIdFilter.MDC_CORR_ID, "2f1c3e1e-8a55-4f47-9a36-2ad1b1a8d7c4");
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> statusException() {
+        return handler.handleSpring(conflict, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> unexpectedException() {
+        return handler.handleGeneric(unexpected, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> statusExceptionThrown() {
+        return handler.handleSpring(
+                new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified concurrently"), request);
+    }
+}
@@ -0,0 +1,115 @@
+package pt.taskflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import pt.taskflow.tasks.infra.OutboundTransports;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound transport under bursts: each invocation sends burst concurrent GETs through a
+ * WebClient to a local stub (Reactor Netty, answers after delayMs without blocking a thread).
+ *
+ * - reactor-default: HttpClient.create(), i.e. the bare WebClient.builder() WebClientConfig used
+ *   to return (per host: 500 connections, 1000 pending, 45s acquire timeout, no idle limit).
+ * - no-pool:         a new connection per request (connect storm, no keep-alive).
+ * - configured:      OutboundTransports.Settings as in config-repo (demo.outbound.http.*).
+ *
+ * ok/s is the throughput of successful requests; failed/s counts pending-acquire rejections and
+ * connect errors. configured and reactor-default reach the same ok/s (within noise): the
+ * settings bound how long a request waits for a connection and how long idle ones live, they
+ * do not make requests faster. Bursts larger than the configured pool queue for a connection
+ * (acquire latency, see reactor.netty.connection.provider.pending.connections.time), e.g.
+ *   java -jar target/benchmarks.jar OutboundTransport -p burst=100,400
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutboundTransportBenchmark {
+
+    @Param({"reactor-default", "no-pool", "configured"})
+    String transport;
+
+    @Param({"100"})
+    int burst;
+
+    @Param({"20"})
+    int delayMs;
+
+    private DisposableServer stub;
+    private ConnectionProvider pool;
+    private WebClient client;
+
+    /** Successful and failed requests, reported by JMH as rates next to the invocation rate. */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Requests {
+        public long ok;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Duration delay = Duration.ofMillis(delayMs);
+        stub = HttpServer.create().host("localhost").port(0)
+                .route(routes -> routes.get("/delay", (req, res) ->
+                        res.sendString(Mono.delay(delay).thenReturn("{\"status\":\"ok\"}"))))
+                .bindNow();
+
+        HttpClient http = switch (transport) {
+            case "reactor-default" -> HttpClient.create();
+            case "no-pool" -> HttpClient.newConnection();
+            case "configured" -> {
+                // the defaults of config-repo/tasks-service.yml (demo.outbound.http)
+                OutboundTransports.Settings settings = new OutboundTransports.Settings(
+                        100, 1000, Duration.ofSeconds(2), Duration.ofSeconds(20), Duration.ofMinutes(5),
+                        Duration.ofSeconds(30), true, Duration.ofSeconds(1), Duration.ZERO, true,
+                        new HttpProtocol[]{HttpProtocol.HTTP11});
+                pool = settings.pool("bench");
+                yield settings.httpClient(pool);
+            }
+            default -> throw new IllegalArgumentException("Unknown transport " + transport);
+        };
+        client = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .baseUrl("http://localhost:" + stub.port())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) pool.disposeLater().block();
+        stub.disposeNow();
+    }
+
+    @Benchmark
+    public void burst(Requests requests) {
+        Flux.range(0, burst)
+                .flatMap(i -> client.get().uri("/delay").retrieve().toBodilessEntity()
+                        .map(r -> true)
+                        .onErrorResume(e -> Mono.just(false)), burst)
+                .doOnNext(ok -> {
+                    if (ok) requests.ok++;
+                    else requests.failed++;
+                })
+                .blockLast();
+    }
+}
@@ -0,0 +1,100 @@
+package pt.taskflow.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pt.taskflow.tasks.config.CorrelationIdFilter;
+import pt.taskflow.tasks.config.RequestLoggingFilter;
+import pt.taskflow.tasks.infra.AccessLog;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the servlet filters in front of every endpoint.
+ * The chain ends in a no-op, so "baseline" is the cost of the harness itself.
+ *
+ * RequestLoggingFilter hands entries to AccessLog, whose writer thread formats the JSON
+ * lines into a discarding appender (see logback.xml): the request-thread cost is measured,
+ * and entries the writer cannot keep up with are dropped (drop-newest), not queued forever.
+ * requestLoggingSampled keeps 10% of the entries, as a sampled route would.
+ * On a single CPU the writer shares the core, so its formatting shows up in these scores too.
+ * Runs on shared hosts drift by 2-3x between sessions: compare two versions by alternating them
+ * in one session, not against numbers from an earlier one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestFiltersBenchmark {
+
+    private final FilterChain end = (req, res) -> {};
+    private final CorrelationIdFilter correlationId = new CorrelationIdFilter();
+    private final AccessLog accessLog = accessLog(1.0);
+    private final AccessLog sampledAccessLog = accessLog(0.1);
+    private final RequestLoggingFilter requestLogging = new RequestLoggingFilter(accessLog);
+    private final RequestLoggingFilter sampledRequestLogging = new RequestLoggingFilter(sampledAccessLog);
+
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest requestWithCorrId;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) benchmark");
+        requestWithCorrId = new MockHttpServletRequest("GET", "/tasks");
+        requestWithCorrId.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) benchmark");
+        requestWithCorrId.addHeader(CorrelationIdFilter.CORR_ID_HEADER, "2f1c3e1e-8a55-4f47-9a36-2ad1b1a8d7c4");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        accessLog.close();
+        sampledAccessLog.close();
+    }
+
+    private static AccessLog accessLog(double sampleRate) {
+        return new AccessLog(true, 8192, AccessLog.DropPolicy.DROP_NEWEST, sampleRate, Map.of(),
+                Duration.ofMillis(500), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void baseline() throws Exception {
+        end.doFilter(request, response);
+    }
+
+    /** No incoming header: a new id is generated. */
+    @Benchmark
+    public void correlationIdGenerated() throws Exception {
+        correlationId.doFilter(request, response, end);
+    }
+
+    /** Header set by the Gateway/client: the id is reused. */
+    @Benchmark
+    public void correlationIdPropagated() throws Exception {
+        correlationId.doFilter(requestWithCorrId, response, end);
+    }
+
+    @Benchmark
+    public void requestLogging() throws Exception {
+        requestLogging.doFilter(request, response, end);
+    }
+
+    @Benchmark
+    public void requestLoggingSampled() throws Exception {
+        sampledRequestLogging.doFilter(request, response, end);
+    }
+
+    /** Both filters, in the order they run in the app. */
+    @Benchmark
+    public void bothFilters() throws Exception {
+        correlationId.doFilter(request, response, (req, res) -> requestLogging.doFilter(req, res, end));
+    }
+}
@@ -0,0 +1,51 @@
+package pt.taskflow.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pt.taskflow.tasks.domain.Task;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization of Task lists, i.e. the body of GET /tasks and POST /tasks/batch.
+ * The ObjectMapper is built like Spring Boot's (Jackson2ObjectMapperBuilder: java.time
+ * module, ISO dates), so the numbers match what the controllers pay per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJsonBenchmark {
+
+    /** 1 = GET /tasks/{id}; 50/100 = list pages; 1000 = a batch body. */
+    @Param({"1", "50", "100", "1000"})
+    int size;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<Task> tasks;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws Exception {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, Task.class);
+        tasks = BenchmarkData.tasks(size);
+        json = mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<Task> deserializeList() throws Exception {
+        return mapper.readValue(json, listType);
+    }
+}
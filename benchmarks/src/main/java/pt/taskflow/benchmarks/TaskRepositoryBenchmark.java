@@ -0,0 +1,169 @@
+package pt.taskflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskCount;
+import pt.taskflow.tasks.domain.TaskListStamp;
+import pt.taskflow.tasks.domain.TaskRepository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskRepository queries (uncached) against an embedded H2 created from the app's
+ * schema-h2.sql and seeded with {@code rows} tasks. Change the row counts with
+ * "-p rows=1000,1000000".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskRepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    int rows;
+
+    /** Page size used by the list benchmarks (the default tasks.pagination.max-page-size is 100). */
+    @Param({"50"})
+    int pageSize;
+
+    private AnnotationConfigApplicationContext context;
+    private TaskRepository repo;
+    private String[] sampleIds;
+    private ScrollPosition middle;
+    private Instant middleTime;
+    private ScrollPosition recentChanges;
+    private Instant recentSince;
+
+    /** Bound of a first page, as TaskCursor.END_OF_TIME in the app. */
+    private static final Instant END_OF_TIME = Instant.parse("9999-12-31T23:59:59Z");
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("bench",
+                Map.of(BenchmarkJpaConfig.DB_NAME, "tasks" + rows + "_" + System.nanoTime())));
+        context.register(BenchmarkJpaConfig.class);
+        context.refresh();
+        repo = context.getBean(TaskRepository.class);
+
+        DataSource dataSource = context.getBean(DataSource.class);
+        new ResourceDatabasePopulator(new ClassPathResource("schema-h2.sql")).execute(dataSource);
+        List<Task> tasks = seed(new JdbcTemplate(dataSource));
+
+        sampleIds = new String[Math.min(1024, rows)];
+        for (int i = 0; i < sampleIds.length; i++) sampleIds[i] = tasks.get(i * (rows / sampleIds.length)).getId();
+        Task mid = tasks.get(rows / 2);
+        middleTime = mid.getCreatedAt();
+        middle = position("createdAt", middleTime, mid.getId());
+        Task recent = tasks.stream().max((a, b) -> a.getUpdatedAt().compareTo(b.getUpdatedAt())).orElseThrow();
+        recentSince = recent.getUpdatedAt().minusSeconds(60);
+        recentChanges = position("updatedAt", recentSince, "");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Batched plain JDBC inserts, so seeding 100k+ rows takes seconds, not minutes. */
+    private List<Task> seed(JdbcTemplate jdbc) {
+        List<Task> tasks = BenchmarkData.tasks(rows);
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (Task t : tasks) {
+            batch.add(new Object[]{t.getId(), t.getTitle(), t.getDescription(), t.getStatus(),
+                    t.getAssignee(), t.getProjectId(),
+                    Timestamp.from(t.getCreatedAt()), Timestamp.from(t.getUpdatedAt()), t.getVersion()});
+            if (batch.size() == 1000) insert(jdbc, batch);
+        }
+        if (!batch.isEmpty()) insert(jdbc, batch);
+        return tasks;
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> batch) {
+        jdbc.batchUpdate("""
+                insert into task (id, title, description, status, assignee, project_id, created_at, updated_at, version)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?)""", batch);
+        batch.clear();
+    }
+
+    private static ScrollPosition position(String timeKey, Instant time, String id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(timeKey, time);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    private String randomId() {
+        return sampleIds[ThreadLocalRandom.current().nextInt(sampleIds.length)];
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return repo.findById(randomId());
+    }
+
+    /** GET /tasks, first page. */
+    @Benchmark
+    public Window<Task> firstPage() {
+        return repo.findByCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(END_OF_TIME, ScrollPosition.keyset(), Limit.of(pageSize));
+    }
+
+    /** GET /tasks?cursor=..., a page in the middle of the table (keyset: should cost the same as the first). */
+    @Benchmark
+    public Window<Task> middlePage() {
+        return repo.findByCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(middleTime, middle, Limit.of(pageSize));
+    }
+
+    /**
+     * GET /tasks?projectId=7: seeks idx_task_project_created (project_id, created_at, id).
+     * PostgreSQL reads that project's rows in index order and stops at the page; H2 reads all of
+     * them (rows / 20) and sorts, so here this grows with the project's size.
+     */
+    @Benchmark
+    public Window<Task> projectPage() {
+        return repo.findByProjectIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc("7", END_OF_TIME, ScrollPosition.keyset(),
+                Limit.of(pageSize));
+    }
+
+    /** GET /tasks/changes?since=(newest change - 60s). */
+    @Benchmark
+    public Window<Task> recentChanges() {
+        return repo.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(recentSince, recentChanges, Limit.of(pageSize));
+    }
+
+    /** The aggregate behind the list ETag, unfiltered and by project. */
+    @Benchmark
+    public TaskListStamp listStamp() {
+        return repo.stampOf(null, null);
+    }
+
+    @Benchmark
+    public TaskListStamp listStampByProject() {
+        return repo.stampOf(null, "7");
+    }
+
+    /** Full GROUP BY behind TaskStats (run on a stats read after any write). */
+    @Benchmark
+    public List<TaskCount> statsRecount() {
+        return repo.countByStatusProjectAndAssignee();
+    }
+}
@@ -0,0 +1,92 @@
+package pt.taskflow.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import pt.taskflow.tasks.domain.TaskText;
+import pt.taskflow.tasks.infra.InMemoryTaskSearch;
+import pt.taskflow.tasks.infra.TaskSearch;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /tasks/search without PostgreSQL: one page (limit 50) from InMemoryTaskSearch over
+ * `docs` synthetic tasks (titles of 4 words, descriptions of 16, drawn from a Zipf-like
+ * vocabulary of 20000 words, so a few words are in most tasks and most words are rare).
+ *
+ * - rareWord: a word in ~0.01% of the tasks (few candidates).
+ * - commonWord: the most frequent word (in well over half of the tasks): the worst case,
+ *   every candidate is ranked.
+ * - commonAndRare / commonAndMid: AND queries; the rarest word drives, the others are seeked.
+ * - deepPage: commonWord after a cursor (the heap only keeps hits past it).
+ *
+ *   java -jar target/benchmarks.jar TaskSearch -p docs=100000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int PAGE = 50;
+
+    @Param({"1000000"})
+    int docs;
+
+    private InMemoryTaskSearch search;
+    private TaskSearch.After deep;
+
+    @Setup
+    public void setUp() {
+        search = new InMemoryTaskSearch(null, null, new SimpleMeterRegistry()); // no database: fed with add()
+        SplittableRandom rnd = new SplittableRandom(42);
+        for (int i = 0; i < docs; i++) {
+            search.add(new TaskText(String.format("%012d", i), words(rnd, 4), words(rnd, 16)));
+        }
+        List<TaskSearch.Hit> first = search.search(List.of(word(0)), null, 1000);
+        deep = new TaskSearch.After(first.get(999).rank(), first.get(999).id());
+    }
+
+    /** n words; word k is drawn with probability ~ 1/(k+1) (Zipf, s = 1). */
+    private static String words(SplittableRandom rnd, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            int rank = (int) Math.pow(VOCABULARY + 1, rnd.nextDouble()) - 1;
+            sb.append(word(rank)).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 36);
+    }
+
+    @Benchmark
+    public List<TaskSearch.Hit> rareWord() {
+        return search.search(List.of(word(15_000)), null, PAGE);
+    }
+
+    @Benchmark
+    public List<TaskSearch.Hit> commonWord() {
+        return search.search(List.of(word(0)), null, PAGE);
+    }
+
+    @Benchmark
+    public List<TaskSearch.Hit> commonAndRare() {
+        return search.search(List.of(word(0), word(15_000)), null, PAGE);
+    }
+
+    @Benchmark
+    public List<TaskSearch.Hit> commonAndMid() {
+        return search.search(List.of(word(0), word(100)), null, PAGE);
+    }
+
+    @Benchmark
+    public List<TaskSearch.Hit> deepPage() {
+        return search.search(List.of(word(0)), deep, PAGE);
+    }
+}
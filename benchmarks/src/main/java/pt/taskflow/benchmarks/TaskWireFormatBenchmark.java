@@ -0,0 +1,72 @@
+package pt.taskflow.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pt.taskflow.tasks.config.TaskProtobufHttpMessageConverter;
+import pt.taskflow.tasks.domain.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One page of GET /tasks (`size` tasks) in each response format of WireFormatsConfig, with and
+ * without gzip (what server.compression adds for Accept-Encoding: gzip, at the default level).
+ *
+ * The time per page is the JMH score; the bytes per task of each format are printed once per
+ * trial ("bytes/task" lines), since the size does not change between iterations:
+ *   java -jar target/benchmarks.jar TaskWireFormat -p size=50
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskWireFormatBenchmark {
+
+    public enum Format { JSON, CBOR, SMILE, PROTOBUF }
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    Format format;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    /** A list page (tasks.pagination.max-page-size is 100). */
+    @Param({"50"})
+    int size;
+
+    private ObjectMapper mapper;
+    private List<Task> tasks;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = switch (format) {
+            case JSON -> Jackson2ObjectMapperBuilder.json().build();
+            case CBOR -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case SMILE -> Jackson2ObjectMapperBuilder.json().factory(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build()).build();
+            case PROTOBUF -> null;
+        };
+        tasks = BenchmarkData.tasks(size);
+        System.out.printf("%n%s%s: %.1f bytes/task%n", format, gzip ? "+gzip" : "", (double) serialize().length / size);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : buffer) {
+            if (mapper != null) mapper.writeValue(out, tasks);
+            else TaskProtobufHttpMessageConverter.writeList(tasks, out);
+        }
+        return buffer.toByteArray();
+    }
+}
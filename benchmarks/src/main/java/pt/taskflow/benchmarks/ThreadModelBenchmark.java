@@ -0,0 +1,104 @@
+package pt.taskflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import pt.taskflow.tasks.api.DiagnosticsController;
+import pt.taskflow.tasks.infra.OutboundClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform vs virtual threads under a slow handler: GET /diagnostics/simulate/delay?ms=delayMs
+ * (DiagnosticsController, i.e. Thread.sleep on the request thread) on an embedded Tomcat set
+ * up as spring.threads.virtual.enabled=false|true would set it up.
+ *
+ * Each JMH thread is one client with one request in flight, so the thread count (-t, default
+ * 400) is the offered concurrency. With platform threads Tomcat serves at most 200 at a time
+ * (its default max threads) and the rest queue: p99 grows in steps of delayMs. With virtual
+ * threads every request sleeps concurrently and p99 stays near delayMs. Compare the
+ * p0.99 lines (and ops/s = sustained concurrency / delay) of the two modes, e.g.
+ *   java -jar target/benchmarks.jar ThreadModel -t 1000
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    @Param({"platform", "virtual"})
+    String mode;
+
+    @Param({"100"})
+    int delayMs;
+
+    private AnnotationConfigServletWebServerApplicationContext server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new AnnotationConfigServletWebServerApplicationContext();
+        server.getEnvironment().getPropertySources().addFirst(new MapPropertySource("bench",
+                Map.of("spring.threads.virtual.enabled", "virtual".equals(mode))));
+        server.register(SimulatorApp.class);
+        server.refresh();
+        int port = server.getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/diagnostics/simulate/delay?ms=" + delayMs)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public int simulateDelay() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Only the delay simulator on Tomcat + Spring MVC; threads configured like Spring Boot does. */
+    @Configuration
+    @EnableWebMvc
+    static class SimulatorApp {
+
+        @Bean
+        TomcatServletWebServerFactory tomcat(Environment env) {
+            TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+            if (env.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+                new TomcatVirtualThreadsWebServerFactoryCustomizer().customize(factory);
+            }
+            return factory;
+        }
+
+        @Bean
+        DispatcherServlet dispatcherServlet() {
+            return new DispatcherServlet();
+        }
+
+        @Bean
+        DiagnosticsController diagnosticsController() {
+            // Only /simulate/delay is exercised; the outbound client, cache and latency report are never used.
+            return new DiagnosticsController(new OutboundClient(WebClient.builder(), "http://localhost"), null, null);
+        }
+    }
+}
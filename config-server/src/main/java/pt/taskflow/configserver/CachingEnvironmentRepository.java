@@ -0,0 +1,134 @@
+package pt.taskflow.configserver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.cloud.config.server.environment.SearchPathLocator;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolved Environments per (application, profile, label), in memory.
+ *
+ * - A miss resolves through the delegate once; concurrent requests for the same key (many
+ *   pods booting at once) wait for that one resolution instead of each cloning/pulling/reading.
+ * - Every refreshInterval the cached keys are resolved again in the background and swapped in,
+ *   so a git pull (force-pull) or a file read happens on the schedule, never on a client fetch.
+ *   A failing refresh keeps serving the last good Environment.
+ * - Keys not requested for expireAfterIdle are dropped at the next refresh.
+ *
+ * Cached Environments are shared between requests and must be treated as read-only (the
+ * EnvironmentController and the decryption step build new objects from them).
+ */
+public class CachingEnvironmentRepository implements EnvironmentRepository, SearchPathLocator, DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(CachingEnvironmentRepository.class);
+
+  private record Key(String application, String profile, String label, boolean includeOrigin) {}
+
+  private static final class Entry {
+    final CompletableFuture<Environment> value;
+    volatile long lastReadNanos = System.nanoTime();
+
+    Entry(CompletableFuture<Environment> value) {
+      this.value = value;
+    }
+  }
+
+  private final EnvironmentRepository delegate;
+  private final long expireAfterIdleNanos;
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread t = new Thread(r, "environment-cache-refresh");
+    t.setDaemon(true);
+    return t;
+  });
+
+  public CachingEnvironmentRepository(EnvironmentRepository delegate, Duration refreshInterval, Duration expireAfterIdle) {
+    this.delegate = delegate;
+    this.expireAfterIdleNanos = expireAfterIdle.toNanos();
+    long period = refreshInterval.toMillis();
+    refresher.scheduleWithFixedDelay(this::refresh, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public Environment findOne(String application, String profile, String label) {
+    return findOne(application, profile, label, false);
+  }
+
+  @Override
+  public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+    Key key = new Key(application, profile, label, includeOrigin);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      Entry created = new Entry(new CompletableFuture<>());
+      entry = entries.putIfAbsent(key, created);
+      if (entry == null) {
+        entry = created;
+        try {
+          created.value.complete(resolve(key));
+        } catch (RuntimeException e) {
+          entries.remove(key, created); // not cached: the next request tries again
+          created.value.completeExceptionally(e);
+        }
+      }
+    }
+    entry.lastReadNanos = System.nanoTime();
+    try {
+      return entry.value.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException re ? re : e;
+    }
+  }
+
+  @Override
+  public Locations getLocations(String application, String profile, String label) {
+    return ((SearchPathLocator) delegate).getLocations(application, profile, label);
+  }
+
+  /** Number of cached (application, profile, label) keys. */
+  public int size() {
+    return entries.size();
+  }
+
+  /** Re-resolves every cached key (drops idle ones); runs on the schedule, public for tests and tooling. */
+  public void refresh() {
+    long now = System.nanoTime();
+    for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+      Key key = e.getKey();
+      Entry entry = e.getValue();
+      if (!entry.value.isDone()) continue; // first resolution still running
+      if (now - entry.lastReadNanos > expireAfterIdleNanos) {
+        entries.remove(key, entry);
+        continue;
+      }
+      try {
+        Entry fresh = new Entry(CompletableFuture.completedFuture(resolve(key)));
+        fresh.lastReadNanos = entry.lastReadNanos;
+        entries.replace(key, entry, fresh);
+      } catch (RuntimeException ex) {
+        log.warn("refresh of {}/{}/{} failed, serving the cached copy: {}",
+            key.application(), key.profile(), key.label(), ex.toString());
+      }
+    }
+  }
+
+  private Environment resolve(Key key) {
+    return delegate.findOne(key.application(), key.profile(), key.label(), key.includeOrigin());
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    refresher.shutdownNow();
+    if (delegate instanceof DisposableBean disposable) disposable.destroy();
+  }
+}
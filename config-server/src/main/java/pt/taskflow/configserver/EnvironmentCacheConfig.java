@@ -0,0 +1,56 @@
+package pt.taskflow.configserver;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.config.server.environment.SearchPathCompositeEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.time.Duration;
+
+/**
+ * Fast answers for booting clients (all settings in application.yml, "configserver.*"):
+ *   - configserver.cache.enabled: the repository behind /{application}/{profile}/{label} is
+ *     wrapped in a CachingEnvironmentRepository, refreshed in the background every
+ *     configserver.cache.refresh-interval.
+ *   - configserver.etag.enabled: GET responses carry an ETag (hash of the body); a request
+ *     with a matching If-None-Match gets 304 and no body. Actuator is excluded (heapdump and
+ *     threaddump are streamed, not buffered).
+ */
+@Configuration
+public class EnvironmentCacheConfig {
+
+  /** Static: post-processors are created before the other beans. */
+  @Bean
+  @ConditionalOnProperty(name = "configserver.cache.enabled", havingValue = "true", matchIfMissing = true)
+  static BeanPostProcessor environmentCachePostProcessor(Environment env) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // The @Primary repository the EnvironmentController, ResourceController and health indicator use
+        if (!(bean instanceof SearchPathCompositeEnvironmentRepository repository)) return bean;
+        return new CachingEnvironmentRepository(repository,
+            env.getProperty("configserver.cache.refresh-interval", Duration.class, Duration.ofSeconds(30)),
+            env.getProperty("configserver.cache.expire-after-idle", Duration.class, Duration.ofMinutes(30)));
+      }
+    };
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "configserver.etag.enabled", havingValue = "true", matchIfMissing = true)
+  FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+    ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+      @Override
+      protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+      }
+    };
+    FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.addUrlPatterns("/*");
+    return registration;
+  }
+}
@@ -1,13 +1,60 @@
 package pt.taskflow.configserver;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.config.server.environment.EnvironmentRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Native profile: serves ../config-repo without cloning from GitHub. */
 @SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("native")
 class ConfigServerApplicationTests {
 
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private EnvironmentRepository repository;
+
+	@Test
+	void servesConfigRepoFromLocalSnapshot() throws Exception {
+		mvc.perform(get("/tasks-service/default"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.propertySources[0].name").value(endsWith("tasks-service.yml")));
+	}
+
+	@Test
+	void environmentsAreCachedAndRefreshed() throws Exception {
+		assertThat(repository).isInstanceOf(CachingEnvironmentRepository.class);
+		CachingEnvironmentRepository cache = (CachingEnvironmentRepository) repository;
+		var first = cache.findOne("tasks-service", "docker", null);
+		assertThat(cache.findOne("tasks-service", "docker", null)).isSameAs(first);
+		cache.refresh();
+		var refreshed = cache.findOne("tasks-service", "docker", null);
+		assertThat(refreshed).isNotSameAs(first);
+		assertThat(refreshed.getPropertySources()).hasSameSizeAs(first.getPropertySources());
+	}
+
 	@Test
-	void contextLoads() {
+	void unchangedEnvironmentIsNotModified() throws Exception {
+		String etag = mvc.perform(get("/tasks-service/docker"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mvc.perform(get("/tasks-service/docker").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
 	}
 
 }
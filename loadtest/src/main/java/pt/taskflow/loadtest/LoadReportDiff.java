@@ -0,0 +1,70 @@
+package pt.taskflow.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two LoadTest reports (e.g. of two releases, same scenario and rate), scenario by scenario:
+ * response time p50/p99/p99.9 and the error rate.
+ *
+ *   java -cp target/loadtest.jar pt.taskflow.loadtest.LoadReportDiff base.json new.json [thresholdPercent]
+ *
+ * A latency change is flagged when it exceeds the threshold (default 10%; tail percentiles of
+ * short runs are noisy); an error rate is flagged when it grows by more than 0.1 percentage
+ * points. Exits with status 1 if anything regressed, so it can gate a release step.
+ */
+public final class LoadReportDiff {
+
+    private static final List<String> PERCENTILES = List.of("p50", "p99", "p99.9");
+    private static final double ERROR_RATE_TOLERANCE = 0.001;
+
+    private LoadReportDiff() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: LoadReportDiff <base.json> <new.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        JsonNode base = Scenario.JSON.readTree(new File(args[0]));
+        JsonNode current = Scenario.JSON.readTree(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        if (!base.path("settings").path("rate").equals(current.path("settings").path("rate"))) {
+            System.out.printf("note: different target rates (%s vs %s req/s)%n",
+                    base.path("settings").path("rate"), current.path("settings").path("rate"));
+        }
+
+        int regressions = 0;
+        System.out.printf("%-24s %12s %12s %9s%n", "scenario / metric", "base", "new", "change");
+        for (Map.Entry<String, JsonNode> e : current.path("scenarios").properties()) {
+            JsonNode now = e.getValue();
+            JsonNode before = base.path("scenarios").path(e.getKey());
+            if (before.isMissingNode()) {
+                System.out.printf("%-24s %12s%n", e.getKey(), "(new)");
+                continue;
+            }
+            for (String p : PERCENTILES) {
+                double b = before.path("responseTimeMs").path(p).asDouble();
+                double n = now.path("responseTimeMs").path(p).asDouble();
+                double change = b == 0 ? 0 : (n - b) / b * 100.0;
+                boolean worse = change > threshold;
+                String verdict = worse ? "  REGRESSION" : change < -threshold ? "  improved" : "";
+                if (worse) regressions++;
+                System.out.printf("%-24s %12.2f %12.2f %+8.1f%%%s%n", e.getKey() + " " + p + " ms", b, n, change, verdict);
+            }
+            double b = before.path("errorRate").asDouble();
+            double n = now.path("errorRate").asDouble();
+            boolean worse = n - b > ERROR_RATE_TOLERANCE;
+            if (worse) regressions++;
+            System.out.printf("%-24s %11.2f%% %11.2f%% %9s%s%n", e.getKey() + " errors", b * 100, n * 100, "",
+                    worse ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%n%d regression(s) above %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package pt.taskflow.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model (constant arrival rate) load generator for a running tasks-service.
+ *
+ * Requests are sent on a fixed schedule, rate per second, whatever the server's response times:
+ * a slow server does not slow the client down (as in a closed loop of N virtual users), so
+ * queueing shows up in the latencies instead of silently lowering the load. Latency is measured
+ * from each request's scheduled time (see ScenarioStats), so it is corrected for coordinated
+ * omission. Responses arriving during --warmup are not recorded.
+ *
+ *   java -jar target/loadtest.jar --scenario list --rate 500 --duration 60s
+ *   java -jar target/loadtest.jar --scenario create:1,list:8,status:1 --rate 200
+ *   java -jar target/loadtest.jar --scenario outbound --ms 200 --fail false --rate 50
+ *
+ * Options (defaults): --url http://localhost:8081, --scenario list, --rate 100, --duration 60s,
+ * --warmup 10s, --max-in-flight 2000, --timeout 10s, --projects 20, --seed 200, --ms 0,
+ * --fail false, --label (git describe), --out target/loadtest-results/<label>-<scenario>.json
+ *
+ * The JSON report (per scenario: counts, errors, achieved rate, response/service time
+ * percentiles and the encoded HdrHistograms) can be compared with LoadReportDiff.
+ */
+public final class LoadTest {
+
+    /** Directory of the default report files (relative to the working directory). */
+    static final Path RESULTS_DIR = Path.of("target", "loadtest-results");
+
+    /** A send later than this after its scheduled time means the generator itself could not keep up. */
+    private static final long LATE_SEND_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parse(args);
+        URI base = URI.create(opts.getOrDefault("url", "http://localhost:8081"));
+        String spec = opts.getOrDefault("scenario", "list");
+        double rate = Double.parseDouble(opts.getOrDefault("rate", "100"));
+        Duration duration = duration(opts.getOrDefault("duration", "60s"));
+        Duration warmup = duration(opts.getOrDefault("warmup", "10s"));
+        int maxInFlight = Integer.parseInt(opts.getOrDefault("max-in-flight", "2000"));
+        Scenario.Options options = new Scenario.Options(
+                Integer.parseInt(opts.getOrDefault("projects", "20")),
+                Integer.parseInt(opts.getOrDefault("seed", "200")),
+                Integer.parseInt(opts.getOrDefault("ms", "0")),
+                Boolean.parseBoolean(opts.getOrDefault("fail", "false")),
+                duration(opts.getOrDefault("timeout", "10s")));
+        String label = opts.getOrDefault("label", label());
+        Path out = Path.of(opts.getOrDefault("out",
+                RESULTS_DIR.resolve(label + "-" + spec.replaceAll("[^A-Za-z0-9]+", "_") + ".json").toString()));
+
+        // create:1,list:8 -> one slot per unit of weight; request i uses slot i % slots
+        List<Scenario> scenarios = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] nameWeight = part.trim().split(":");
+            scenarios.add(Scenario.forName(nameWeight[0], base, options));
+            int weight = nameWeight.length > 1 ? Integer.parseInt(nameWeight[1]) : 1;
+            for (int w = 0; w < weight; w++) slots.add(scenarios.size() - 1);
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (Scenario s : scenarios) s.prepare(client);
+
+        Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+        for (Scenario s : scenarios) stats.put(s.name(), new ScenarioStats(s.name()));
+
+        System.out.printf("%s: %s at %.1f req/s for %ss (+%ss warm-up), max %d in flight%n",
+                base, spec, rate, duration.toSeconds(), warmup.toSeconds(), maxInFlight);
+        Run run = run(client, scenarios, slots, stats, rate, warmup, duration, maxInFlight, options.timeout());
+
+        double seconds = duration.toNanos() / 1e9;
+        print(stats, seconds, run);
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Scenario.JSON.writerWithDefaultPrettyPrinter().writeValue(out.toFile(),
+                report(base, spec, label, rate, warmup, duration, maxInFlight, options, run, stats, seconds));
+        System.out.println("report: " + out);
+        client.close();
+        if (run.unfinished() > 0) System.exit(1);
+    }
+
+    record Run(Instant startedAt, long sent, long lateSends, long unfinished) {}
+
+    private static Run run(HttpClient client, List<Scenario> scenarios, List<Integer> slots,
+                           Map<String, ScenarioStats> stats, double rate, Duration warmup, Duration duration,
+                           int maxInFlight, Duration timeout) throws InterruptedException {
+        long interval = (long) (1e9 / rate);
+        long[] perScenario = new long[scenarios.size()];
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long sent = 0;
+        long late = 0;
+
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end) break;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+            int index = slots.get((int) (i % slots.size()));
+            Scenario scenario = scenarios.get(index);
+            HttpRequest request = scenario.request(perScenario[index]++);
+            inFlight.acquire(); // at the limit, later sends are delayed: their latency still counts from due
+            long sentAt = System.nanoTime();
+            if (due >= measureFrom && sentAt - due > LATE_SEND_NANOS) late++;
+            sent++;
+            ScenarioStats target = due >= measureFrom ? stats.get(scenario.name()) : null;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                long done = System.nanoTime();
+                inFlight.release();
+                if (target != null) target.record(due, sentAt, done, response != null ? response.statusCode() : 0, failure);
+            });
+        }
+        // Let the last requests finish (each one ends by its timeout at the latest)
+        boolean drained = inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        long unfinished = drained ? 0 : maxInFlight - inFlight.availablePermits();
+        return new Run(startedAt, sent, late, unfinished);
+    }
+
+    private static void print(Map<String, ScenarioStats> stats, double seconds, Run run) {
+        System.out.printf("%n%-10s %9s %9s %9s %10s %10s %10s %10s %10s %12s%n", "scenario", "requests", "errors",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (ScenarioStats s : stats.values()) {
+            Histogram r = s.responseTime;
+            System.out.printf("%-10s %9d %9d %9.1f %10.2f %10.2f %10.2f %10.2f %10.2f %12.2f%n", s.name,
+                    s.requests(), s.requests() - s.ok(), s.requests() / seconds,
+                    r.getValueAtPercentile(50) / 1000.0, r.getValueAtPercentile(90) / 1000.0,
+                    r.getValueAtPercentile(99) / 1000.0, r.getValueAtPercentile(99.9) / 1000.0,
+                    r.getMaxValue() / 1000.0, s.serviceTime.getValueAtPercentile(99) / 1000.0);
+            if (!s.errors().isEmpty()) System.out.printf("%-10s errors: %s%n", "", s.errors());
+        }
+        if (run.lateSends() > 0) {
+            System.out.printf("%nWARNING: %d sends were more than %d ms behind schedule (in-flight limit or a slow"
+                    + " client machine); the latencies include that delay.%n", run.lateSends(),
+                    TimeUnit.NANOSECONDS.toMillis(LATE_SEND_NANOS));
+        }
+        if (run.unfinished() > 0) System.out.printf("WARNING: %d requests had not finished%n", run.unfinished());
+    }
+
+    private static Map<String, Object> report(URI base, String spec, String label, double rate, Duration warmup,
+                                              Duration duration, int maxInFlight, Scenario.Options options, Run run,
+                                              Map<String, ScenarioStats> stats, double seconds) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("url", base.toString());
+        settings.put("scenario", spec);
+        settings.put("rate", rate);
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("warmupSeconds", warmup.toSeconds());
+        settings.put("maxInFlight", maxInFlight);
+        settings.put("timeoutMs", options.timeout().toMillis());
+        settings.put("projects", options.projects());
+        settings.put("seed", options.seed());
+        settings.put("outboundMs", options.outboundMs());
+        settings.put("outboundFail", options.outboundFail());
+
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        stats.forEach((name, s) -> scenarios.put(name, s.toReport(seconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("format", "taskflow-loadtest/1");
+        report.put("label", label);
+        report.put("startedAt", run.startedAt().toString());
+        report.put("settings", settings);
+        report.put("sent", run.sent());
+        report.put("lateSends", run.lateSends());
+        report.put("unfinished", run.unfinished());
+        report.put("latencyUnit", "ms; histograms in microseconds");
+        report.put("scenarios", scenarios);
+        return report;
+    }
+
+    /** --name value pairs. */
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("expected --option value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+
+    /** "500ms", "30s", "2m", or plain seconds. */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s")) return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("m")) return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    /** Same default as the benchmarks: "git describe --always --dirty", else a timestamp. */
+    private static String label() {
+        try {
+            Process git = new ProcessBuilder("git", "describe", "--always", "--dirty").start();
+            String out = new String(git.getInputStream().readAllBytes()).trim();
+            if (git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 && !out.isEmpty()) return out;
+        } catch (IOException e) {
+            // no git on this machine: fall through to a timestamp
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
@@ -0,0 +1,145 @@
+package pt.taskflow.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One kind of request against tasks-service. request(n) builds the n-th request of the run
+ * (deterministic in n, so two runs with the same options send the same requests).
+ *
+ * Scenarios by name (see forName):
+ *   create   POST  /tasks                         new task in one of the load-test projects
+ *   list     GET   /tasks?projectId=&limit=       first page of one project
+ *   status   PATCH /tasks/{id}/status             cycles the seeded tasks through TODO/DOING/DONE
+ *   outbound GET   /diagnostics/outbound?ms=&fail= the resilient outbound call (DiagnosticsController)
+ */
+public abstract class Scenario {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+    static final Duration TIMEOUT_SETUP = Duration.ofSeconds(30);
+
+    final String name;
+    final URI base;
+    final Options options;
+
+    Scenario(String name, URI base, Options options) {
+        this.name = name;
+        this.base = base;
+        this.options = options;
+    }
+
+    /** Knobs shared by the scenarios (command line: --projects, --seed, --ms, --fail, --timeout). */
+    record Options(int projects, int seed, int outboundMs, boolean outboundFail, Duration timeout) {}
+
+    String name() {
+        return name;
+    }
+
+    /** Data the requests need, created before the run starts (not measured). */
+    void prepare(HttpClient client) throws IOException, InterruptedException {}
+
+    abstract HttpRequest request(long n);
+
+    HttpRequest.Builder builder(String pathAndQuery) {
+        return HttpRequest.newBuilder(base.resolve(pathAndQuery)).timeout(options.timeout());
+    }
+
+    String project(long n) {
+        return "load-p" + (n % options.projects());
+    }
+
+    static Scenario forName(String name, URI base, Options options) {
+        return switch (name) {
+            case "create" -> new Create(base, options);
+            case "list" -> new ListByProject(base, options);
+            case "status" -> new PatchStatus(base, options);
+            case "outbound" -> new Outbound(base, options);
+            default -> throw new IllegalArgumentException(
+                    "unknown scenario '" + name + "' (create, list, status, outbound)");
+        };
+    }
+
+    static final class Create extends Scenario {
+        Create(URI base, Options options) {
+            super("create", base, options);
+        }
+
+        @Override
+        HttpRequest request(long n) {
+            String body = "{\"title\":\"load " + n + "\",\"description\":\"created by loadtest\",\"projectId\":\""
+                    + project(n) + "\",\"status\":\"TODO\"}";
+            return builder("/tasks").header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        }
+    }
+
+    static final class ListByProject extends Scenario {
+        ListByProject(URI base, Options options) {
+            super("list", base, options);
+        }
+
+        @Override
+        HttpRequest request(long n) {
+            return builder("/tasks?projectId=" + project(n) + "&limit=20").GET().build();
+        }
+    }
+
+    /** Seeds options.seed tasks with one POST /tasks/batch, then PATCHes them round-robin. */
+    static final class PatchStatus extends Scenario {
+        private static final String[] STATUSES = {"DOING", "DONE", "TODO"};
+        private final List<String> ids = new ArrayList<>();
+
+        PatchStatus(URI base, Options options) {
+            super("status", base, options);
+        }
+
+        @Override
+        void prepare(HttpClient client) throws IOException, InterruptedException {
+            List<Map<String, String>> tasks = new ArrayList<>();
+            for (int i = 0; i < options.seed(); i++) {
+                tasks.add(Map.of("title", "load seed " + i, "projectId", project(i), "status", "TODO"));
+            }
+            HttpRequest seed = HttpRequest.newBuilder(base.resolve("/tasks/batch")).timeout(TIMEOUT_SETUP)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(tasks))).build();
+            HttpResponse<byte[]> response = client.send(seed, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("seeding " + options.seed() + " tasks failed: HTTP " + response.statusCode());
+            }
+            for (JsonNode item : JSON.readTree(response.body()).path("items")) {
+                if (item.hasNonNull("id")) ids.add(item.get("id").asText());
+            }
+            if (ids.isEmpty()) throw new IOException("seeding created no tasks");
+        }
+
+        @Override
+        HttpRequest request(long n) {
+            String id = ids.get((int) (n % ids.size()));
+            String status = STATUSES[(int) (n / ids.size() % STATUSES.length)];
+            return builder("/tasks/" + id + "/status").header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}")).build();
+        }
+    }
+
+    static final class Outbound extends Scenario {
+        Outbound(URI base, Options options) {
+            super("outbound", base, options);
+        }
+
+        @Override
+        HttpRequest request(long n) {
+            return builder("/diagnostics/outbound?ms=" + options.outboundMs() + "&fail=" + options.outboundFail())
+                    .GET().build();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package pt.taskflow.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of one scenario, recorded concurrently by the response callbacks. Times in microseconds.
+ *
+ * - responseTime: from the moment the request was DUE (its slot in the arrival schedule) to
+ *   the end of the response. A stalled server delays every later send; those waits count, so
+ *   this is the latency corrected for coordinated omission, and the one to compare.
+ * - serviceTime: from the actual send to the end of the response (what a closed-loop client
+ *   would report). A large gap between the two means requests queued in the client, at the
+ *   in-flight limit or behind a stalled connection.
+ */
+final class ScenarioStats {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    final String name;
+    final Histogram responseTime = new ConcurrentHistogram(3);
+    final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    void record(long dueNanos, long sentNanos, long doneNanos, int status, Throwable failure) {
+        responseTime.recordValue(Math.max(0, (doneNanos - dueNanos) / 1000));
+        serviceTime.recordValue(Math.max(0, (doneNanos - sentNanos) / 1000));
+        if (failure == null && status < 400) {
+            ok.increment();
+        } else {
+            errors.computeIfAbsent(failure == null ? "HTTP " + status : errorName(failure), k -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    private static String errorName(Throwable failure) {
+        Throwable cause = failure.getCause() != null ? failure.getCause() : failure; // CompletionException
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+
+    long requests() {
+        return responseTime.getTotalCount();
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    Map<String, Long> errors() {
+        Map<String, Long> out = new TreeMap<>();
+        errors.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+
+    /** Report entry: counts, rate, both latency distributions (ms) and the encoded histograms. */
+    Map<String, Object> toReport(double seconds) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("requests", requests());
+        out.put("ok", ok());
+        out.put("errors", errors());
+        out.put("errorRate", requests() == 0 ? 0.0 : (double) (requests() - ok()) / requests());
+        out.put("achievedRate", requests() / seconds);
+        out.put("responseTimeMs", distribution(responseTime));
+        out.put("serviceTimeMs", distribution(serviceTime));
+        out.put("responseTimeHistogram", encode(responseTime));
+        out.put("serviceTimeHistogram", encode(serviceTime));
+        return out;
+    }
+
+    static Map<String, Object> distribution(Histogram h) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("mean", h.getMean() / 1000.0);
+        for (double p : PERCENTILES) out.put(label(p), h.getValueAtPercentile(p) / 1000.0);
+        out.put("max", h.getMaxValue() / 1000.0);
+        return out;
+    }
+
+    /** "p50", "p99.9", ... */
+    static String label(double percentile) {
+        return "p" + (percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile));
+    }
+
+    /** HdrHistogram compressed encoding, base64: Histogram.decodeFromCompressedByteBuffer reads it back. */
+    static String encode(Histogram h) {
+        ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+        int length = h.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Time from "java" to the first 200 of GET /tasks, for tasks-service started:
+#   jar      - java -jar *-exec.jar (as the image did before)
+#   aot+cds  - extracted jar + AppCDS archive + Spring AOT (as the Dockerfile does now)
+# Both with the docker profile and config-repo/, on an in-memory H2 instead of Postgres and
+# without Eureka, so only the service itself is measured.
+#
+# usage: mvn -q -DskipTests -Pstartup -pl tasks-service -am package
+#        scripts/startup-bench.sh [runs per mode, default 5]
+set -euo pipefail
+
+runs="${1:-5}"
+port="${TASKS_PORT:-8081}"
+root="$(cd "$(dirname "$0")/.." && pwd)"
+jar="$(ls "$root"/tasks-service/target/*-exec.jar)"
+work="$(mktemp -d)"
+trap 'rm -rf "$work"' EXIT
+
+if curl -fs -o /dev/null "http://localhost:$port/tasks"; then
+  echo "port $port is already serving /tasks; stop that instance first" >&2; exit 1
+fi
+
+args=(--server.port="$port" --spring.profiles.active=docker --spring.config.import=
+      --spring.config.name=application,tasks-service --spring.config.additional-location="file:$root/config-repo/"
+      --spring.datasource.url="jdbc:h2:mem:tasks;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+      --spring.sql.init.schema-locations=classpath:schema-h2.sql
+      --eureka.client.register-with-eureka=false --eureka.client.fetch-registry=false)
+
+# Extracted layout + CDS training run, as in tasks-service/Dockerfile
+java -Djarmode=tools -jar "$jar" extract --destination "$work/application" > /dev/null
+extracted="$work/application/$(basename "$jar")"
+java -XX:ArchiveClassesAtExit="$work/application/app.jsa" -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh -jar "$extracted" "${args[@]}" > "$work/training.log" 2>&1
+
+# Starts the service, prints the ms until GET /tasks answers 200, stops it
+first_response_ms() {
+  local start pid
+  start=$(date +%s%N)
+  java "$@" > "$work/run.log" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "http://localhost:$port/tasks"; do
+    if ! kill -0 "$pid" 2>/dev/null; then echo "service exited, see:" >&2; tail -20 "$work/run.log" >&2; exit 1; fi
+    sleep 0.05
+  done
+  echo $(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+}
+
+report() {
+  local mode="$1"; shift
+  local times=()
+  for _ in $(seq "$runs"); do times+=("$(first_response_ms "$@")"); done
+  printf '%-8s first /tasks: %s ms (median of %s: %s ms)\n' "$mode" "${times[*]}" "$runs" \
+    "$(printf '%s\n' "${times[@]}" | sort -n | sed -n "$(( (runs + 1) / 2 ))p")"
+}
+
+report "jar"     -jar "$jar" "${args[@]}"
+report "aot+cds" -XX:SharedArchiveFile="$work/application/app.jsa" -Dspring.aot.enabled=true -jar "$extracted" "${args[@]}"
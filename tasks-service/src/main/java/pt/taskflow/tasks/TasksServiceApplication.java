@@ -2,6 +2,7 @@ package pt.taskflow.tasks;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Entry point for the Tasks Service.
@@ -9,10 +10,16 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *  - keep it tiny and fast to run
  *  - return JSON quickly (seed a couple of records)
  *  - no external infra required (H2 in-memory)
+ *
+ * Startup steps (context refresh, bean creation, JPA bootstrap...) are recorded with their
+ * durations for /actuator/startup, up to TASKS_STARTUP_EVENTS steps (0 = not recorded).
  */
 @SpringBootApplication
 public class TasksServiceApplication {
   public static void main(String[] args) {
-    SpringApplication.run(TasksServiceApplication.class, args);
+    SpringApplication app = new SpringApplication(TasksServiceApplication.class);
+    int startupEvents = Integer.parseInt(System.getenv().getOrDefault("TASKS_STARTUP_EVENTS", "4096"));
+    if (startupEvents > 0) app.setApplicationStartup(new BufferingApplicationStartup(startupEvents));
+    app.run(args);
   }
 }
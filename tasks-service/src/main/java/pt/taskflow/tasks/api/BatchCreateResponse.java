@@ -0,0 +1,25 @@
+package pt.taskflow.tasks.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * BatchCreateResponse
+ * -------------------
+ * Result of POST /tasks/batch.
+ *
+ * Fields:
+ *   - created: number of tasks stored
+ *   - failed:  number of tasks rejected
+ *   - items:   one entry per input item, in input order
+ *              (index in the request, generated id OR error message)
+ */
+public record BatchCreateResponse(
+        int created,
+        int failed,
+        List<Item> items
+) {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(int index, String id, String error) {}
+}
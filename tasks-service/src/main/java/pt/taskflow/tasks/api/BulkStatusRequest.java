@@ -0,0 +1,23 @@
+package pt.taskflow.tasks.api;
+
+import java.util.List;
+
+/**
+ * BulkStatusRequest
+ * -----------------
+ * Body of PATCH /tasks/status.
+ *
+ * Fields:
+ *   - status:     new status to apply (required)
+ *   - ids:        explicit task ids to move, OR
+ *   - projectId:  move every task of this project...
+ *   - fromStatus: ...and/or every task currently in this status
+ *
+ * Either ids or at least one filter is required (never "update the whole table").
+ */
+public record BulkStatusRequest(
+        String status,
+        List<String> ids,
+        String projectId,
+        String fromStatus
+) {}
@@ -0,0 +1,37 @@
+package pt.taskflow.tasks.api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import pt.taskflow.tasks.infra.CacheInvalidationBus;
+import pt.taskflow.tasks.infra.HttpCacheInvalidationBus;
+
+/**
+ * Receiving end of HttpCacheInvalidationBus: peers POST their invalidations here.
+ * Only mapped when tasks.cache.invalidation.mode=http (internal, not routed by the Gateway).
+ * Requests without the shared token (HttpCacheInvalidationBus.TOKEN_HEADER) get 401, so a
+ * client that can reach the port cannot keep clearing the caches.
+ */
+@RestController
+@ConditionalOnProperty(name = "tasks.cache.invalidation.mode", havingValue = "http")
+public class CacheInvalidationController {
+
+    private final HttpCacheInvalidationBus bus;
+
+    public CacheInvalidationController(HttpCacheInvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    @PostMapping(HttpCacheInvalidationBus.PATH)
+    public ResponseEntity<Void> receive(
+            @RequestHeader(name = HttpCacheInvalidationBus.TOKEN_HEADER, required = false) String token,
+            @RequestBody CacheInvalidationBus.Invalidation invalidation) {
+        if (!bus.accepts(token)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        bus.deliver(invalidation);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -2,9 +2,14 @@ package pt.taskflow.tasks.api;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pt.taskflow.tasks.config.CorrelationIds;
+import pt.taskflow.tasks.infra.LatencyReport;
 import pt.taskflow.tasks.infra.OutboundClient;
+import pt.taskflow.tasks.infra.OutboundResponseCache;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
@@ -12,26 +17,37 @@ import java.util.Map;
 /**
  * Controlador de "diagnóstico" para EXPLICAR e PROVAR os padrões de resiliência.
  *
- * Tem dois endpoints:
+ * Endpoints:
  * - /diagnostics/simulate/delay : é o "ALVO" que podemos atrasar/forçar 500 (falha)
- * - /diagnostics/outbound       : é a "CHAMADA" que usa Resilience4j + fallback
+ * - /diagnostics/outbound       : é a "CHAMADA" que usa Resilience4j + fallback, atrás de um
+ *   cache stale-while-revalidate (OutboundResponseCache)
+ *   (/diagnostics/outbound/blocking: a mesma, bloqueando o thread do pedido)
+ * - /diagnostics/latency        : resumo p50/p95/p99 por endpoint, query e tentativa outbound
  *
  * Chamadas normais passam OK; quando pedimos atraso grande (ms=3000) ou falha (fail=true),
  * vemos timeout -> retry -> fallback e o circuit breaker a abrir/fechar.
  *
  * Estes endpoints ficam no tasks-service para não precisares de outro serviço para testar.
  * Como o baseUrl é "http://tasks-service", a chamada outbound usa Discovery + LB.
+ *
+ * @Lazy (tal como o OutboundClient): criado no primeiro pedido a /diagnostics, não no arranque.
  */
 @RestController
+@Lazy
+@Profile("!reactive")
 @RequestMapping("/diagnostics")
 public class DiagnosticsController {
 
     private static final Logger log = LoggerFactory.getLogger(DiagnosticsController.class);
 
     private final OutboundClient outbound;
+    private final OutboundResponseCache outboundCache;
+    private final LatencyReport latency;
 
-    public DiagnosticsController(OutboundClient outbound) {
+    public DiagnosticsController(OutboundClient outbound, OutboundResponseCache outboundCache, LatencyReport latency) {
         this.outbound = outbound;
+        this.outboundCache = outboundCache;
+        this.latency = latency;
     }
 
     /**
@@ -67,11 +83,46 @@ public class DiagnosticsController {
     /**
      * CHAMADA OUTBOUND COM RESILIÊNCIA:
      * - Usa OutboundClient.callDelayed(ms, fail) protegido com timeout/retry/circuit breaker.
-     * - Quando há problema, devolve o Fallback (JSON com 'source' e 'reason').
+     * - Quando há problema, devolve a última resposta boa ou o Fallback (JSON com 'source' e 'reason').
+     * - Antes passa pelo cache: resposta fresca -> sem chamada; antiga (stale) -> devolvida já
+     *   e atualizada em background; pedidos iguais em simultâneo partilham UMA chamada.
      */
     @GetMapping("/outbound")
     public Mono<String> outbound(@RequestParam(defaultValue = "0") int ms,
                                  @RequestParam(defaultValue = "false") boolean fail) {
-        return outbound.callDelayed(ms, fail);
+        return cached(ms, fail);
+    }
+
+    /**
+     * A MESMA CHAMADA, mas em estilo bloqueante (.block() no thread do pedido):
+     * - Com threads de plataforma, cada pedido à espera ocupa um thread do Tomcat (máx. 200).
+     * - Com spring.threads.virtual.enabled=true, o thread é virtual e esperar é barato.
+     * O bloqueio fica aqui (e não no OutboundClient) para passar pelo proxy Resilience4j.
+     */
+    @GetMapping("/outbound/blocking")
+    public String outboundBlocking(@RequestParam(defaultValue = "0") int ms,
+                                   @RequestParam(defaultValue = "false") boolean fail) {
+        return cached(ms, fail).block();
+    }
+
+    // outbound.callDelayed pelo proxy (Resilience4j); o cache fica à frente de tudo.
+    // contextWrite por fora de tudo: o corrId (MDC deste thread) segue no Reactor Context para os
+    // retries/hedges noutros threads e vai no header X-Correlation-Id da chamada.
+    private Mono<String> cached(int ms, boolean fail) {
+        return outboundCache.get(OutboundClient.cacheKey(ms, fail), () -> outbound.callDelayed(ms, fail))
+                .contextWrite(CorrelationIds::fromMdc);
+    }
+
+    /**
+     * RESUMO DE LATÊNCIAS (desta instância, ver localPort):
+     * - endpoints: cada rota (http.server.requests)
+     * - repository: cada query do TaskRepository (spring.data.repository.invocations)
+     * - outbound: cada TENTATIVA da chamada de saída + retries, timeouts e estado do circuit breaker
+     * Compara /diagnostics/outbound (total, com retries/fallback) com as tentativas:
+     * a diferença é o custo da pilha de resiliência. Os histogramas completos estão em /actuator/prometheus.
+     */
+    @GetMapping("/latency")
+    public Map<String, Object> latency() {
+        return latency.summary();
     }
 }
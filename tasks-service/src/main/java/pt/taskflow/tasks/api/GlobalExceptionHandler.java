@@ -2,10 +2,13 @@ package pt.taskflow.tasks.api;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.MDC;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,12 +24,15 @@ import static pt.taskflow.tasks.config.CorrelationIdFilter.MDC_CORR_ID;
  * Purpose:
  *   - Transform exceptions into a consistent JSON error payload.
  *   - Keep messages safe and helpful (no stack traces or sensitive details).
+ *   - Always JSON, whatever the request's Accept header (CBOR/Smile/Protobuf clients
+ *     included), so the error body can always be written.
  *
  * Recommendations:
  *   - In production, avoid returning internal details; log them instead.
  *   - Map domain-specific exceptions to appropriate HTTP statuses.
  */
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -49,7 +55,17 @@ public class GlobalExceptionHandler {
         ProblemDetail pd = ex.getBody();
         String message = (pd != null && pd.getDetail() != null) ? pd.getDetail() : ex.getMessage();
         HttpStatus status = (ex.getStatusCode() instanceof HttpStatus http) ? http : HttpStatus.INTERNAL_SERVER_ERROR;
-        return build(status, message, req);
+        ResponseEntity<ErrorResponse> response = build(status, message, req);
+        // Keep the exception's headers (e.g. Retry-After on a 503)
+        return ex.getHeaders().isEmpty() ? response
+                : ResponseEntity.status(status).headers(ex.getHeaders()).contentType(MediaType.APPLICATION_JSON).body(response.getBody());
+    }
+
+    /** Accept asks only for formats this endpoint cannot produce (e.g. Protobuf for /tasks/stats). */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<ErrorResponse> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex,
+                                                             HttpServletRequest req) {
+        return build(HttpStatus.NOT_ACCEPTABLE, "Supported formats: " + ex.getSupportedMediaTypes(), req);
     }
 
     @ExceptionHandler(Exception.class)
@@ -67,6 +83,6 @@ public class GlobalExceptionHandler {
                 req.getRequestURI(),
                 MDC.get(MDC_CORR_ID) // populated by CorrelationIdFilter
         );
-        return ResponseEntity.status(status).body(body);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
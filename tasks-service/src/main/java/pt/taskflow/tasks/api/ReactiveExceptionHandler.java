@@ -0,0 +1,63 @@
+package pt.taskflow.tasks.api;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.OffsetDateTime;
+
+import static pt.taskflow.tasks.config.CorrelationIdFilter.CORR_ID_HEADER;
+
+/**
+ * ReactiveExceptionHandler
+ * ------------------------
+ * GlobalExceptionHandler for the "reactive" profile (WebFlux): same ErrorResponse payload
+ * and status mapping, built from the reactive request.
+ *
+ * Notes:
+ *   - There is no servlet filter (and no MDC) here, so corrId is the one sent by the
+ *     client or Gateway, if any.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleBind(WebExchangeBindException ex, ServerHttpRequest req) {
+        String message = ex.getAllErrors().stream().findFirst()
+                .map(e -> e.getDefaultMessage()).orElse("Binding error");
+        return build(HttpStatus.BAD_REQUEST, message, req);
+    }
+
+    @ExceptionHandler(ErrorResponseException.class)
+    public ResponseEntity<ErrorResponse> handleSpring(ErrorResponseException ex, ServerHttpRequest req) {
+        ProblemDetail pd = ex.getBody();
+        String message = (pd != null && pd.getDetail() != null) ? pd.getDetail() : ex.getMessage();
+        HttpStatus status = (ex.getStatusCode() instanceof HttpStatus http) ? http : HttpStatus.INTERNAL_SERVER_ERROR;
+        return build(status, message, req);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, ServerHttpRequest req) {
+        // Avoid exposing internals; log the exception if needed (not shown here).
+        return build(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", req);
+    }
+
+    private ResponseEntity<ErrorResponse> build(HttpStatus status, String message, ServerHttpRequest req) {
+        ErrorResponse body = new ErrorResponse(
+                OffsetDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                req.getPath().value(),
+                req.getHeaders().getFirst(CORR_ID_HEADER)
+        );
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,344 @@
+package pt.taskflow.tasks.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.R2dbcException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import pt.taskflow.tasks.domain.ReactiveTaskRepository;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskRepository;
+import pt.taskflow.tasks.infra.TaskBatchWriter;
+import pt.taskflow.tasks.infra.TaskEvent;
+import pt.taskflow.tasks.infra.TaskEventStream;
+import pt.taskflow.tasks.infra.TaskExporter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * REST API for Tasks on the "reactive" profile: same paths, parameters, headers and payloads
+ * as TaskController, served by WebFlux on Netty from ReactiveTaskRepository (R2DBC).
+ *
+ * Nothing here blocks: every handler returns a Mono/Flux and a request holds no thread while
+ * it waits for the database, so a few event-loop threads serve all connections.
+ *
+ * Differences with the servlet stack:
+ * - no GET /tasks/stats (TaskStats counts through JPA) and no read cache;
+ * - GET /tasks/export is demand-driven: rows are read from the database only as fast as
+ *   the client consumes them, instead of through a cursor held by a blocked thread;
+ * - POST /tasks/batch inserts with one INSERT per row (R2DBC repositories do not batch),
+ *   still one transaction per chunk with the same item-by-item fallback.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping(value = "/tasks", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+
+  private static final Logger log = LoggerFactory.getLogger(ReactiveTaskController.class);
+
+  private final ReactiveTaskRepository repo;
+  private final TransactionalOperator tx;
+  private final TaskEventStream events;
+  private final ObjectMapper mapper;
+
+  @Value("${tasks.pagination.max-page-size:100}")
+  private int maxPageSize;
+
+  @Value("${tasks.batch.max-items:10000}")
+  private int maxBatchItems;
+
+  @Value("${tasks.batch.chunk-size:500}")
+  private int chunkSize;
+
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<Task>> create(@RequestBody Task body) {
+    body.prePersist(); // no JPA lifecycle callbacks with R2DBC
+    return repo.insert(body)
+        .doOnNext(events::created)
+        .map(saved -> ResponseEntity.status(201).body(saved));
+  }
+
+  /**
+   * Bulk create. Body: JSON array of tasks, or NDJSON (one task per line), decoded as a stream.
+   * Items without a title are rejected individually; the rest are stored.
+   * Requests with more than tasks.batch.max-items items are refused (413) before any insert;
+   * reading stops at the first item over the limit.
+   */
+  @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public Mono<BatchCreateResponse> createBatch(@RequestBody Flux<Task> body) {
+    return body
+        .take(maxBatchItems + 1L)
+        .collectList()
+        .onErrorMap(ServerWebInputException.class,
+            e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed batch body"))
+        .flatMap(items -> {
+          if (items.size() > maxBatchItems)
+            return Mono.error(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "At most " + maxBatchItems + " tasks per batch"));
+
+          List<Task> valid = new ArrayList<>(items.size());
+          List<BatchCreateResponse.Item> results = new ArrayList<>(items.size());
+          for (int i = 0; i < items.size(); i++) {
+            Task t = items.get(i);
+            if (t.getTitle() == null || t.getTitle().isBlank()) {
+              results.add(new BatchCreateResponse.Item(i, null, "title is required"));
+            } else {
+              t.setId(null); // always insert, with a server-generated id
+              t.prePersist();
+              valid.add(t);
+              results.add(null);
+            }
+          }
+
+          return Flux.fromIterable(valid)
+              .buffer(chunkSize)
+              .concatMap(this::insertChunk) // chunks in order, one transaction each
+              .collectList()
+              .map(outcomes -> {
+                int created = 0, next = 0;
+                // One feed event per project instead of one per task, as in TaskController.
+                Map<String, Long> createdPerProject = new HashMap<>();
+                for (int i = 0; i < results.size(); i++) {
+                  if (results.get(i) != null) continue;
+                  Task t = valid.get(next);
+                  TaskBatchWriter.Outcome o = outcomes.get(next++);
+                  results.set(i, new BatchCreateResponse.Item(i, o.id(), o.error()));
+                  if (o.ok()) {
+                    created++;
+                    createdPerProject.merge(t.getProjectId(), 1L, Long::sum);
+                  }
+                }
+                events.batchCreated(createdPerProject, Instant.now());
+                return new BatchCreateResponse(created, results.size() - created, results);
+              });
+        });
+  }
+
+  /** Stores one chunk in one transaction; if it fails, retries its items one by one. One Outcome per item, in order. */
+  private Flux<TaskBatchWriter.Outcome> insertChunk(List<Task> chunk) {
+    return repo.insertAll(chunk)
+        .map(t -> new TaskBatchWriter.Outcome(t.getId(), null))
+        .as(tx::transactional)
+        .collectList()
+        .onErrorResume(chunkFailure -> {
+          log.warn("batch chunk of {} failed ({}), retrying item by item",
+              chunk.size(), chunkFailure.getClass().getSimpleName());
+          return Flux.fromIterable(chunk).concatMap(this::insertOne).collectList();
+        })
+        .flatMapIterable(outcomes -> outcomes);
+  }
+
+  private Mono<TaskBatchWriter.Outcome> insertOne(Task t) {
+    return repo.insert(t)
+        .as(tx::transactional)
+        .map(saved -> new TaskBatchWriter.Outcome(saved.getId(), null))
+        .onErrorResume(e -> {
+          // Expose only the kind of failure (e.g. R2dbcDataIntegrityViolationException), not SQL details.
+          Throwable reason = e;
+          while (!(reason instanceof R2dbcException) && reason.getCause() != null) reason = reason.getCause();
+          return Mono.just(new TaskBatchWriter.Outcome(null, "not stored: " + reason.getClass().getSimpleName()));
+        });
+  }
+
+  @GetMapping
+  public Mono<ResponseEntity<List<Task>>> list(
+      @RequestParam(name = "status", required = false) String status,
+      @RequestParam(name = "projectId", required = false) String projectId,
+      @RequestParam(name = "limit", required = false) Integer limit,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      ServerWebExchange exchange) {
+    Limit pageSize = Limit.of(pageSize(limit));
+    ScrollPosition position = cursor != null ? TaskCursor.decode(cursor, TaskCursor.CREATED_AT) : ScrollPosition.keyset();
+
+    // Checked before loading the page: an unchanged list costs one aggregate, no rows, no body.
+    return repo.stampOf(status, projectId).flatMap(stamp -> {
+      String etag = TaskETags.of(stamp, pageSize.max(), cursor);
+      if (exchange.checkNotModified(etag)) return Mono.just(notModified(etag));
+      return repo.scrollByCreatedAt(status, projectId, position, pageSize)
+          .map(page -> withNextCursor(ResponseEntity.ok().eTag(etag), page, TaskCursor.CREATED_AT));
+    });
+  }
+
+  /** Delta sync, see TaskController.changes. */
+  @GetMapping("/changes")
+  public Mono<ResponseEntity<List<Task>>> changes(
+      @RequestParam(name = "since") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+      @RequestParam(name = "projectId", required = false) String projectId,
+      @RequestParam(name = "limit", required = false) Integer limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    Limit pageSize = Limit.of(pageSize(limit));
+    ScrollPosition position = cursor != null
+        ? TaskCursor.decode(cursor, TaskCursor.UPDATED_AT)
+        : TaskCursor.at(TaskCursor.UPDATED_AT, since, "");
+    return repo.scrollByUpdatedAt(projectId, position, pageSize)
+        .map(page -> withNextCursor(ResponseEntity.ok(), page, TaskCursor.UPDATED_AT));
+  }
+
+  private static ResponseEntity<List<Task>> withNextCursor(ResponseEntity.BodyBuilder ok, Window<Task> page, String timeKey) {
+    if (page.hasNext())
+      ok.header(TaskController.NEXT_CURSOR_HEADER, TaskCursor.encode(page.positionAt(page.size() - 1), timeKey));
+    return ok.body(page.getContent());
+  }
+
+  /** No limit -> max page size; bigger limits are clamped so one call can never load the whole table. */
+  private int pageSize(Integer requested) {
+    if (requested == null) return maxPageSize;
+    if (requested < 1) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be >= 1");
+    return Math.min(requested, maxPageSize);
+  }
+
+  /** SSE change feed (same TaskEventStream as the servlet stack). */
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<TaskEvent>> stream(
+      @RequestParam(name = "projectId", required = false) String projectId) {
+    return events.subscribe(projectId);
+  }
+
+  /**
+   * Streams every matching task (NDJSON or CSV). Rows are requested from R2DBC EXPORT_FETCH_SIZE
+   * at a time and written as one chunk each, only as fast as the client reads: a slow client
+   * slows the query down instead of filling the heap.
+   */
+  @GetMapping(path = "/export", produces = MediaType.ALL_VALUE) // any Accept maps here, checked below
+  public ResponseEntity<Flux<String>> export(
+      @RequestParam(name = "status", required = false) String status,
+      @RequestParam(name = "projectId", required = false) String projectId,
+      @RequestParam(name = "updatedSince", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+      @RequestParam(name = "format", defaultValue = "ndjson") String format,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+    if (!TaskExporter.acceptable(accept))
+      throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Supported formats: " + TaskExporter.MEDIA_TYPES);
+    TaskExporter.Format fmt;
+    try {
+      fmt = TaskExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+    }
+    Flux<String> chunks = repo.streamForExport(status, projectId, updatedSince)
+        .buffer(TaskRepository.EXPORT_FETCH_SIZE)
+        .map(rows -> fmt == TaskExporter.Format.CSV ? csvLines(rows) : jsonLines(rows));
+    if (fmt == TaskExporter.Format.CSV) chunks = chunks.startWith(TaskExporter.CSV_HEADER);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(fmt.mediaType() + ";charset=UTF-8"))
+        .body(chunks);
+  }
+
+  private String jsonLines(List<Task> rows) {
+    StringBuilder sb = new StringBuilder(rows.size() * 256);
+    try {
+      for (Task t : rows) sb.append(mapper.writeValueAsString(t)).append('\n');
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
+
+  private static String csvLines(List<Task> rows) {
+    StringWriter w = new StringWriter(rows.size() * 128);
+    try {
+      for (Task t : rows) TaskExporter.writeCsvRow(w, t);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // (StringWriter never throws)
+    }
+    return w.toString();
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<Task>> getById(@PathVariable("id") String id, ServerWebExchange exchange) {
+    return repo.findById(id)
+        .map(task -> {
+          String etag = TaskETags.of(task);
+          if (exchange.checkNotModified(etag)) return ReactiveTaskController.<Task>notModified(etag);
+          return ResponseEntity.ok().eTag(etag).body(task);
+        })
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  /** checkNotModified already set 304 on the response; this keeps the handler from writing a body. */
+  private static <T> ResponseEntity<T> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+  }
+
+  /** Status change in one UPDATE, then the updated row is read back (the response is the task). */
+  @PatchMapping(path = "/{id}/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<Task>> updateStatus(
+      @PathVariable("id") String id,
+      @RequestBody Map<String, String> body) {
+    String newStatus = body.get("status");
+    if (newStatus == null || newStatus.isBlank())
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status is required");
+    Long expectedVersion = parseVersion(body.get("version"));
+    Instant now = Instant.now();
+    return repo.updateStatus(id, newStatus, expectedVersion, now).flatMap(updated -> {
+      if (updated == 0) {
+        // Only on the failure path: tell "missing" apart from "changed by someone else".
+        if (expectedVersion == null) return Mono.just(ResponseEntity.notFound().<Task>build());
+        return repo.existsById(id).flatMap(exists -> exists ? Mono.error(conflict())
+            : Mono.just(ResponseEntity.notFound().<Task>build()));
+      }
+      return repo.findById(id)
+          .doOnNext(task -> events.statusChanged(id, task.getProjectId(), newStatus, now))
+          .map(ResponseEntity::ok)
+          .defaultIfEmpty(ResponseEntity.notFound().build()); // deleted in between
+    });
+  }
+
+  private static ResponseStatusException conflict() {
+    return new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified concurrently");
+  }
+
+  /** Moves many tasks (by ids, or by projectId/fromStatus filter) to a new status in one UPDATE. */
+  @PatchMapping(path = "/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<Map<String, Integer>> updateStatusBulk(@RequestBody BulkStatusRequest body) {
+    if (body.status() == null || body.status().isBlank())
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status is required");
+    Instant now = Instant.now();
+    if (body.ids() != null && !body.ids().isEmpty()) {
+      if (body.ids().size() > maxBatchItems)
+        throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maxBatchItems + " ids per request");
+      return repo.updateStatusByIds(body.ids(), body.status(), now)
+          .doOnNext(updated -> events.bulkStatusChanged(null, body.status(), updated, now))
+          .map(updated -> Map.of("updated", updated));
+    }
+    if (body.projectId() != null || body.fromStatus() != null) {
+      return repo.updateStatusWhere(body.projectId(), body.fromStatus(), body.status(), now)
+          .doOnNext(updated -> events.bulkStatusChanged(body.projectId(), body.status(), updated, now))
+          .map(updated -> Map.of("updated", updated));
+    }
+    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids, projectId or fromStatus is required");
+  }
+
+  private static Long parseVersion(String version) {
+    if (version == null) return null;
+    try {
+      return Long.valueOf(version);
+    } catch (NumberFormatException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version must be a number");
+    }
+  }
+}
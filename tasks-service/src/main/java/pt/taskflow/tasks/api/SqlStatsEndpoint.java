@@ -0,0 +1,83 @@
+package pt.taskflow.tasks.api;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/sqlstats
+ * - GET: Hibernate statistics since startup (or the last reset): JDBC statements, entity
+ *   loads/fetches, the slowest query, and per-query counts and timings, heaviest (total time)
+ *   first. ?top=N limits the per-query list (default 20).
+ * - POST: resets the statistics, e.g. before measuring one scenario.
+ *
+ * Needs hibernate.generate_statistics=true, which is off by default: activate the sqlstats
+ * profile (config-repo/tasks-service-sqlstats.yml) or set TASKS_HIBERNATE_STATS=true; otherwise
+ * it reports enabled=false and zeros. Individual slow statements are logged by Hibernate
+ * (hibernate.log_slow_query, logger org.hibernate.SQL_SLOW).
+ */
+@Component
+@Profile("!reactive")
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+
+    private final Statistics statistics;
+
+    public SqlStatsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> report(@Nullable Integer top) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("since", statistics.getStart());
+        result.put("statements", statistics.getPrepareStatementCount());
+        result.put("queries", statistics.getQueryExecutionCount());
+        result.put("entityLoads", statistics.getEntityLoadCount());
+        result.put("entityFetches", statistics.getEntityFetchCount()); // lazy loads: N+1 suspects
+        result.put("collectionFetches", statistics.getCollectionFetchCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("slowest", Map.of(
+                "query", String.valueOf(statistics.getQueryExecutionMaxTimeQueryString()),
+                "ms", statistics.getQueryExecutionMaxTime()));
+
+        List<Map<String, Object>> byQuery = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics q = statistics.getQueryStatistics(query);
+            if (q.getExecutionCount() == 0) continue;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("query", query);
+            row.put("executions", q.getExecutionCount());
+            row.put("totalMs", q.getExecutionTotalTime());
+            row.put("avgMs", q.getExecutionAvgTimeAsDouble());
+            row.put("maxMs", q.getExecutionMaxTime());
+            row.put("rows", q.getExecutionRowCount());
+            byQuery.add(row);
+        }
+        byQuery.sort(Comparator.comparingLong((Map<String, Object> row) -> (long) row.get("totalMs")).reversed());
+        result.put("byQuery", byQuery.subList(0, Math.min(byQuery.size(), top != null ? top : DEFAULT_TOP)));
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> reset() {
+        statistics.clear();
+        return report(null);
+    }
+}
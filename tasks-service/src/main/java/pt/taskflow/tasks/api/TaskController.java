@@ -1,55 +1,402 @@
 package pt.taskflow.tasks.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import pt.taskflow.tasks.config.TaskProtobufHttpMessageConverter;
 import pt.taskflow.tasks.domain.Task;
 import pt.taskflow.tasks.domain.TaskRepository;
+import pt.taskflow.tasks.infra.TaskBatchWriter;
+import pt.taskflow.tasks.infra.TaskEvent;
+import pt.taskflow.tasks.infra.TaskEventStream;
+import pt.taskflow.tasks.infra.TaskExporter;
+import pt.taskflow.tasks.infra.TaskSearch;
+import pt.taskflow.tasks.infra.TaskStats;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.*;
 
 /**
  * REST API for Tasks (Phase 0).
+ *
+ * GET /tasks is keyset-paginated (newest first): pass ?limit=N and, for the next
+ * pages, ?cursor=<value of the X-Next-Cursor response header>. The header is absent
+ * on the last page. Page size is capped by tasks.pagination.max-page-size.
+ *
+ * GET /tasks and GET /tasks/{id} send a weak ETag; polling clients that echo it in
+ * If-None-Match get 304 with no body while nothing changed (for lists: nothing in the
+ * filter, not just the page; see TaskETags). GET /tasks/changes?since=
+ * returns only tasks modified since a timestamp (oldest first, same cursor paging).
+ *
+ * GET /tasks/stats returns task counts by status, project and assignee from in-memory
+ * counters that the writes below keep up to date (see TaskStats), so boards need not
+ * fetch every task to count them.
+ *
+ * GET /tasks/stream is a Server-Sent Events feed of creates and status changes
+ * (optionally ?projectId=), for dashboards that would otherwise poll.
+ *
+ * GET /tasks/search?q= is full-text search over title and description, best match first,
+ * with the same cursor paging (see TaskSearch for the PostgreSQL and in-memory backends);
+ * 503 + Retry-After while the in-memory index is still being built at startup.
+ *
+ * GET /tasks/export streams every matching task (NDJSON or CSV) with flat heap use,
+ * for bulk consumers that need the whole table rather than pages. It never answers JSON:
+ * Accept: application/json gets 406 with the supported types in the (JSON) error body.
+ *
+ * Responses are JSON by default; clients may ask (Accept) for CBOR or Smile instead, and
+ * the endpoints returning tasks also for Protobuf (see WireFormatsConfig). Negotiated responses carry Vary: Accept,
+ * so caches keep one copy per format.
+ *
+ * POST /tasks/batch is the bulk counterpart of POST /tasks (JSON array or NDJSON body),
+ * stored in chunked, JDBC-batched transactions with a per-item result.
  */
 @RestController
-@RequestMapping(value = "/tasks", produces = MediaType.APPLICATION_JSON_VALUE)
+@Profile("!reactive")
+@RequestMapping(value = "/tasks", produces = {
+    MediaType.APPLICATION_JSON_VALUE,   // first: the default for Accept */* or none
+    MediaType.APPLICATION_CBOR_VALUE,
+    TaskController.APPLICATION_SMILE_VALUE})
 @RequiredArgsConstructor
 public class TaskController {
 
+  public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+  /** Response header carrying the opaque cursor of the next page (absent on the last page). */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /** Read/count + UPDATE pairs the status endpoints try before answering 409 (see updateStatus, updateStatusBulk). */
+  private static final int STATUS_ATTEMPTS = 3;
+
+  /** Response header of GET /tasks/search naming the backend that answered ("postgres" or "memory"). */
+  public static final String SEARCH_BACKEND_HEADER = "X-Search-Backend";
+
   private final TaskRepository repo;
+  private final TaskExporter exporter;
+  private final TaskBatchWriter batchWriter;
+  private final TaskEventStream events;
+  private final TaskStats stats;
+  private final TaskSearch search;
+  private final ObjectMapper mapper;
+
+  @Value("${tasks.pagination.max-page-size:100}")
+  private int maxPageSize;
+
+  @Value("${tasks.batch.max-items:10000}")
+  private int maxBatchItems;
 
   @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<Task> create(@RequestBody Task body) {
     Task saved = repo.save(body);
+    search.indexed(saved);
+    stats.created(saved);
+    events.created(saved);
     return ResponseEntity.status(201).body(saved);
   }
 
-  @GetMapping
-  public List<Task> list(
+  /**
+   * Bulk create. Body: JSON array of tasks, or NDJSON (one task per line).
+   * Items without a title are rejected individually; the rest are stored.
+   * Requests with more than tasks.batch.max-items items are refused (413) before any insert.
+   */
+  @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public BatchCreateResponse createBatch(HttpServletRequest request) throws IOException {
+    List<Task> items = new ArrayList<>();
+    // readValues iterates the elements of a top-level array, or consecutive root values (NDJSON).
+    try (MappingIterator<Task> it = mapper.readerFor(Task.class).readValues(request.getInputStream())) {
+      while (it.hasNextValue()) { // (hasNext/next would wrap parse errors in unchecked exceptions)
+        if (items.size() == maxBatchItems)
+          throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maxBatchItems + " tasks per batch");
+        items.add(it.nextValue());
+      }
+    } catch (JsonProcessingException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed batch body");
+    }
+
+    List<Task> valid = new ArrayList<>(items.size());
+    List<BatchCreateResponse.Item> results = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      Task t = items.get(i);
+      if (t == null || t.getTitle() == null || t.getTitle().isBlank()) {
+        results.add(new BatchCreateResponse.Item(i, null, "title is required"));
+      } else {
+        t.setId(null); // always insert: client ids would turn persist into merge (a SELECT per item)
+        valid.add(t);
+        results.add(null);
+      }
+    }
+
+    TaskBatchWriter.Outcome[] outcomes = batchWriter.insertAll(valid);
+    int created = 0, next = 0;
+    // One feed event per project instead of one per task, so a big import cannot flood subscribers.
+    Map<String, Long> createdPerProject = new HashMap<>();
+    for (int i = 0; i < results.size(); i++) {
+      if (results.get(i) != null) continue;
+      Task t = valid.get(next);
+      TaskBatchWriter.Outcome o = outcomes[next++];
+      results.set(i, new BatchCreateResponse.Item(i, o.id(), o.error()));
+      if (o.ok()) {
+        created++;
+        search.indexed(t);
+        stats.created(t);
+        createdPerProject.merge(t.getProjectId(), 1L, Long::sum);
+      }
+    }
+    events.batchCreated(createdPerProject, Instant.now());
+    return new BatchCreateResponse(created, results.size() - created, results);
+  }
+
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+      APPLICATION_SMILE_VALUE, TaskProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE})
+  public ResponseEntity<List<Task>> list(
       @RequestParam(name = "status", required = false) String status,
+      @RequestParam(name = "projectId", required = false) String projectId,
+      @RequestParam(name = "limit", required = false) Integer limit,
+      @RequestParam(name = "cursor", required = false) String cursor,
+      WebRequest request) {
+    // Checked before loading the page: an unchanged list costs one (cached) aggregate, no rows, no body.
+    Limit pageSize = Limit.of(pageSize(limit));
+    String etag = TaskETags.of(repo.stampOf(status, projectId), pageSize.max(), cursor);
+    if (request.checkNotModified(etag)) return null; // 304 already set on the response
+
+    ScrollPosition position = cursor != null ? TaskCursor.decode(cursor, TaskCursor.CREATED_AT) : ScrollPosition.keyset();
+    Instant upTo = TaskCursor.bound(position, TaskCursor.CREATED_AT);
+
+    Window<Task> page;
+    if (status != null && projectId != null)
+      page = repo.findByStatusAndProjectIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(status, projectId, upTo, position, pageSize);
+    else if (status != null) page = repo.findByStatusAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(status, upTo, position, pageSize);
+    else if (projectId != null) page = repo.findByProjectIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(projectId, upTo, position, pageSize);
+    else page = repo.findByCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(upTo, position, pageSize);
+
+    ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT);
+    if (page.hasNext())
+      ok.header(NEXT_CURSOR_HEADER, TaskCursor.encode(page.positionAt(page.size() - 1), TaskCursor.CREATED_AT));
+    return ok.body(page.getContent());
+  }
+
+  /**
+   * Delta sync: tasks with updatedAt >= since, oldest change first, optionally for one project.
+   * Pass the X-Next-Cursor header back as ?cursor= to continue; when it is absent the client
+   * is up to date and can use the newest updatedAt it received as the next "since".
+   * (Inclusive on purpose: rows sharing the boundary timestamp are re-sent rather than missed.)
+   */
+  @GetMapping(path = "/changes", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+      APPLICATION_SMILE_VALUE, TaskProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE})
+  public ResponseEntity<List<Task>> changes(
+      @RequestParam(name = "since") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+      @RequestParam(name = "projectId", required = false) String projectId,
+      @RequestParam(name = "limit", required = false) Integer limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    Limit pageSize = Limit.of(pageSize(limit));
+    // (since, "") sorts before every real id at that instant, so the first page is updatedAt >= since.
+    ScrollPosition position = cursor != null
+        ? TaskCursor.decode(cursor, TaskCursor.UPDATED_AT)
+        : TaskCursor.at(TaskCursor.UPDATED_AT, since, "");
+
+    Instant from = TaskCursor.bound(position, TaskCursor.UPDATED_AT);
+    Window<Task> page = projectId != null
+        ? repo.findByProjectIdAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(projectId, from, position, pageSize)
+        : repo.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(from, position, pageSize);
+
+    ResponseEntity.BodyBuilder ok = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+    if (page.hasNext())
+      ok.header(NEXT_CURSOR_HEADER, TaskCursor.encode(page.positionAt(page.size() - 1), TaskCursor.UPDATED_AT));
+    return ok.body(page.getContent());
+  }
+
+  /**
+   * Full-text search: tasks whose title or description contain every word of q, best match first
+   * (title matches rank higher). Paged like GET /tasks: pass X-Next-Cursor back as ?cursor=.
+   * The index returns ids only; the page's tasks are then loaded by primary key in one query.
+   */
+  @GetMapping(path = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+      APPLICATION_SMILE_VALUE, TaskProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE})
+  public ResponseEntity<List<Task>> search(
+      @RequestParam(name = "q") String q,
+      @RequestParam(name = "limit", required = false) Integer limit,
+      @RequestParam(name = "cursor", required = false) String cursor) {
+    List<String> terms = TaskSearch.queryTerms(q);
+    if (terms.isEmpty()) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must contain at least one word");
+    if (!search.ready()) {
+      ErrorResponseException building = new ErrorResponseException(HttpStatus.SERVICE_UNAVAILABLE,
+          ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "Search index is being built, retry later"), null);
+      building.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+      throw building;
+    }
+    int size = pageSize(limit);
+    TaskSearch.After after = cursor != null ? TaskCursor.decodeSearch(cursor) : null;
+
+    List<TaskSearch.Hit> hits = search.search(terms, after, size + 1); // one extra: is there a next page?
+    boolean hasNext = hits.size() > size;
+    if (hasNext) hits = hits.subList(0, size);
+
+    Map<String, Task> byId = new HashMap<>();
+    repo.findAllById(hits.stream().map(TaskSearch.Hit::id).toList()).forEach(t -> byId.put(t.getId(), t));
+    List<Task> page = new ArrayList<>(hits.size());
+    for (TaskSearch.Hit hit : hits) {
+      Task t = byId.get(hit.id());
+      if (t != null) page.add(t); // (gone since it was indexed)
+    }
+
+    ResponseEntity.BodyBuilder ok = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+        .header(SEARCH_BACKEND_HEADER, search.backend());
+    if (hasNext) ok.header(NEXT_CURSOR_HEADER, TaskCursor.encode(hits.get(hits.size() - 1)));
+    return ok.body(page);
+  }
+
+  /** No limit -> max page size; bigger limits are clamped so one call can never load the whole table. */
+  private int pageSize(Integer requested) {
+    if (requested == null) return maxPageSize;
+    if (requested < 1) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be >= 1");
+    return Math.min(requested, maxPageSize);
+  }
+
+  /** Counts by status, project and assignee, from memory: no query (see TaskStats). */
+  @GetMapping("/stats")
+  public TaskStats.Snapshot stats() {
+    return stats.snapshot();
+  }
+
+  /** SSE change feed. Each connection is a Flux, not a thread; see TaskEventStream for buffering. */
+  @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<TaskEvent>> stream(
       @RequestParam(name = "projectId", required = false) String projectId) {
-    if (status != null && projectId != null) return repo.findByStatusAndProjectId(status, projectId);
-    if (status != null) return repo.findByStatus(status);
-    if (projectId != null) return repo.findByProjectId(projectId);
-    return repo.findAll();
+    return events.subscribe(projectId);
   }
 
-  @GetMapping("/{id}")
-  public ResponseEntity<Task> getById(@PathVariable("id") String id) {
-    return repo.findById(id).map(ResponseEntity::ok)
-              .orElseGet(() -> ResponseEntity.notFound().build());
+  /**
+   * Streams tasks straight from a database cursor to the response.
+   * Written synchronously (not StreamingResponseBody) so large exports are not cut
+   * by the MVC async timeout and the read-only transaction spans the whole write.
+   */
+  @GetMapping(path = "/export", produces = MediaType.ALL_VALUE) // any Accept maps here, checked below
+  public void export(
+      @RequestParam(name = "status", required = false) String status,
+      @RequestParam(name = "projectId", required = false) String projectId,
+      @RequestParam(name = "updatedSince", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+      @RequestParam(name = "format", defaultValue = "ndjson") String format,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+      HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+    // 406 + JSON error body listing the formats (see TaskExporter.acceptable)
+    if (!TaskExporter.acceptable(accept)) throw new HttpMediaTypeNotAcceptableException(TaskExporter.MEDIA_TYPES);
+    TaskExporter.Format fmt;
+    try {
+      fmt = TaskExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+    }
+    response.setContentType(fmt.mediaType());
+    response.setCharacterEncoding("UTF-8");
+    exporter.export(status, projectId, updatedSince, fmt, response.getOutputStream());
+  }
+
+  @GetMapping(path = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+      APPLICATION_SMILE_VALUE, TaskProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE})
+  public ResponseEntity<Task> getById(@PathVariable("id") String id, WebRequest request) {
+    Optional<Task> task = repo.findById(id);
+    if (task.isEmpty()) return ResponseEntity.notFound().build();
+    String etag = TaskETags.of(task.get());
+    if (request.checkNotModified(etag)) return null; // 304
+    return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(task.get());
   }
 
+  /**
+   * Status change without loading the entity: one SELECT of the current row, then one UPDATE
+   * guarded by the version just read. Body: {"status": "DONE"} and optionally {"version": "3"}
+   * for an optimistic check (409 if the task is no longer at that version). Without a version,
+   * a change by someone else between the two statements is retried, and only ends in 409
+   * after STATUS_ATTEMPTS tries. Returns the updated task.
+   */
   @PatchMapping(path = "/{id}/status", consumes = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<?> updateStatus(
+  public ResponseEntity<Task> updateStatus(
       @PathVariable("id") String id,
       @RequestBody Map<String, String> body) {
-    return repo.findById(id).map(t -> {
-      String newStatus = body.get("status");
-      if (newStatus != null) t.setStatus(newStatus);
-      return ResponseEntity.ok(repo.save(t));
-    }).orElseGet(() -> ResponseEntity.notFound().build());
+    String newStatus = body.get("status");
+    if (newStatus == null || newStatus.isBlank())
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status is required");
+    Long expectedVersion = parseVersion(body.get("version"));
+
+    for (int attempt = 0; attempt < STATUS_ATTEMPTS; attempt++) {
+      Optional<Task> current = repo.findUnmanagedById(id);
+      if (current.isEmpty()) return ResponseEntity.notFound().build();
+      Task task = current.get();
+      if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) break;
+      Instant now = Instant.now();
+      if (repo.updateStatus(id, newStatus, task.getVersion(), now) == 1) {
+        stats.statusChanged(task, newStatus);
+        events.statusChanged(id, task.getProjectId(), newStatus, now);
+        task.setStatus(newStatus);
+        task.setUpdatedAt(now);
+        task.setVersion(task.getVersion() + 1);
+        return ResponseEntity.ok(task);
+      }
+    }
+    throw new ResponseStatusException(HttpStatus.CONFLICT, "Task was modified concurrently");
+  }
+
+  /**
+   * Moves many tasks (by ids, or by projectId/fromStatus filter) to a new status in one UPDATE,
+   * preceded by the count of the rows it changes, for the stats (see TaskStats.bulkStatusChange).
+   * If another write touches those rows in between, the pair is retried, up to STATUS_ATTEMPTS times.
+   */
+  @PatchMapping(path = "/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public Map<String, Integer> updateStatusBulk(@RequestBody BulkStatusRequest body) {
+    if (body.status() == null || body.status().isBlank())
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status is required");
+    boolean byIds = body.ids() != null && !body.ids().isEmpty();
+    if (byIds && body.ids().size() > maxBatchItems)
+      throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maxBatchItems + " ids per request");
+    if (!byIds && body.projectId() == null && body.fromStatus() == null)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids, projectId or fromStatus is required");
+
+    for (int attempt = 0; attempt < STATUS_ATTEMPTS; attempt++) {
+      Instant now = Instant.now();
+      try {
+        int updated = byIds
+            ? stats.bulkStatusChange(() -> repo.countByIds(body.ids()),
+                () -> repo.updateStatusByIds(body.ids(), body.status(), now), body.status())
+            : stats.bulkStatusChange(() -> repo.countWhere(body.projectId(), body.fromStatus()),
+                () -> repo.updateStatusWhere(body.projectId(), body.fromStatus(), body.status(), now), body.status());
+        events.bulkStatusChanged(byIds ? null : body.projectId(), body.status(), updated, now);
+        return Map.of("updated", updated);
+      } catch (ConcurrencyFailureException e) {
+        // another transaction changed one of the rows after we counted them: count again
+      }
+    }
+    throw new ResponseStatusException(HttpStatus.CONFLICT, "Tasks were modified concurrently");
+  }
+
+  private static Long parseVersion(String version) {
+    if (version == null) return null;
+    try {
+      return Long.valueOf(version);
+    } catch (NumberFormatException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version must be a number");
+    }
   }
 
   /** 👇 Novo endpoint "human friendly" para browser */
@@ -63,10 +410,17 @@ public class TaskController {
             <p>Bem-vindo ao <strong>Task Services - TESTE</strong>!</p>
             <p>Use os endpoints REST:</p>
             <ul>
-              <li>GET /tasks – listar tarefas</li>
+              <li>GET /tasks?limit=&amp;cursor= – listar tarefas (paginado, header X-Next-Cursor)</li>
+              <li>GET /tasks/search?q=&amp;limit=&amp;cursor= – pesquisa de texto (título e descrição)</li>
+              <li>GET /tasks/export?format=ndjson|csv – exportar tudo em streaming</li>
+              <li>GET /tasks/stats – contagens por estado, projeto e responsável</li>
+              <li>GET /tasks/stream?projectId= – feed de alterações (Server-Sent Events)</li>
               <li>POST /tasks – criar tarefa</li>
+              <li>POST /tasks/batch – criar muitas tarefas (array JSON ou NDJSON)</li>
               <li>GET /tasks/{id} – ver uma tarefa</li>
+              <li>GET /tasks/changes?since= – tarefas alteradas desde um instante</li>
               <li>PATCH /tasks/{id}/status – atualizar estado</li>
+              <li>PATCH /tasks/status – atualizar estado de várias tarefas</li>
             </ul>
           </body>
         </html>
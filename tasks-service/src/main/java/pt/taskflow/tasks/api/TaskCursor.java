@@ -0,0 +1,94 @@
+package pt.taskflow.tasks.api;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import pt.taskflow.tasks.infra.TaskSearch;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TaskCursor
+ * ----------
+ * Encodes/decodes the opaque "cursor" token used by GET /tasks.
+ *
+ * The token is base64url("<timestamp>|id") of the last task of the previous page, where
+ * the timestamp is the sort key of the listing (createdAt for GET /tasks, updatedAt for
+ * GET /tasks/changes). Clients must treat it as opaque: only send back what the server
+ * returned in the X-Next-Cursor header.
+ *
+ * GET /tasks/search uses the same format with the rank instead of the timestamp.
+ */
+final class TaskCursor {
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private TaskCursor() {}
+
+  static final String CREATED_AT = "createdAt";
+  static final String UPDATED_AT = "updatedAt";
+
+  static String encode(ScrollPosition position, String timeKey) {
+    Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+    String raw = keys.get(timeKey) + "|" + keys.get("id");
+    return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** @throws ResponseStatusException (400) when the token was not produced by {@link #encode}. */
+  static ScrollPosition decode(String cursor, String timeKey) {
+    try {
+      String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+      int sep = raw.indexOf('|');
+      if (sep < 0) throw new IllegalArgumentException("missing separator");
+      return at(timeKey, Instant.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+  }
+
+  /** Later than any stored timestamp: the bound of a first (descending) page, which has no cursor yet. */
+  static final Instant END_OF_TIME = Instant.parse("9999-12-31T23:59:59Z");
+
+  /**
+   * The time of the position, as the plain range bound (createdAt <= t / updatedAt >= t) that
+   * lets the index seek to the page; END_OF_TIME for the initial position.
+   */
+  static Instant bound(ScrollPosition position, String timeKey) {
+    KeysetScrollPosition keyset = (KeysetScrollPosition) position;
+    return keyset.isInitial() ? END_OF_TIME : (Instant) keyset.getKeys().get(timeKey);
+  }
+
+  /** Position just after (time, id) in the listing's sort order. */
+  static ScrollPosition at(String timeKey, Instant time, String id) {
+    // Order matters: keys must follow the sort (time first, then id).
+    Map<String, Object> keys = new LinkedHashMap<>();
+    keys.put(timeKey, time);
+    keys.put("id", id);
+    return ScrollPosition.forward(keys);
+  }
+
+  /** Search cursor: the position just after this hit (rank, then id). */
+  static String encode(TaskSearch.Hit last) {
+    String raw = last.rank() + "|" + last.id();
+    return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** @throws ResponseStatusException (400) when the token was not produced by {@link #encode(TaskSearch.Hit)}. */
+  static TaskSearch.After decodeSearch(String cursor) {
+    try {
+      String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+      int sep = raw.indexOf('|');
+      if (sep < 0) throw new IllegalArgumentException("missing separator");
+      return new TaskSearch.After(Float.parseFloat(raw.substring(0, sep)), raw.substring(sep + 1));
+    } catch (IllegalArgumentException e) { // includes NumberFormatException
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+  }
+}
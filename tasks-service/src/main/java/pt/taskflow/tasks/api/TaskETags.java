@@ -0,0 +1,43 @@
+package pt.taskflow.tasks.api;
+
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskListStamp;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * TaskETags
+ * ---------
+ * Weak ETags for conditional GETs (If-None-Match -> 304 Not Modified).
+ *
+ *   - one task:  W/"<updatedAt>"
+ *   - a list:    W/"<count>-<max updatedAt>-<page>": the stamp of the whole filter (see
+ *                TaskListStamp) plus the page (size and cursor), so no two pages share a tag
+ *
+ * The list tag is coarse: any write to the filter changes the tag of all its pages, including
+ * pages whose rows did not change. Every write also clears the cached stamps (CACHE_TASK_LISTS),
+ * so the next list request of each filter pays one COUNT + MAX before it can answer 304.
+ *
+ * Timestamps are taken at microsecond precision (what the database keeps) and written
+ * in hex to keep the header short. Weak because the same data may be rendered in more
+ * than one representation.
+ */
+final class TaskETags {
+
+  private TaskETags() {}
+
+  static String of(Task task) {
+    return "W/\"" + micros(task.getUpdatedAt()) + "\"";
+  }
+
+  static String of(TaskListStamp stamp, int pageSize, String cursor) {
+    return "W/\"" + Long.toHexString(stamp.count()) + "-" + micros(stamp.lastUpdatedAt())
+        + "-" + Integer.toHexString(pageSize) + (cursor == null ? "" : "." + Integer.toHexString(cursor.hashCode()))
+        + "\"";
+  }
+
+  private static String micros(Instant t) {
+    return t == null ? "0" : Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, t));
+  }
+}
@@ -0,0 +1,38 @@
+package pt.taskflow.tasks.api;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import pt.taskflow.tasks.infra.TaskStats;
+
+import java.util.Map;
+
+/**
+ * /actuator/taskstats
+ * - GET: compares this replica's in-memory task counters with a fresh GROUP BY (read-only).
+ * - POST: rebuilds this replica's counters from the GROUP BY, then re-checks.
+ */
+@Component
+@Profile("!reactive")
+@Endpoint(id = "taskstats")
+public class TaskStatsEndpoint {
+
+    private final TaskStats stats;
+
+    public TaskStatsEndpoint(TaskStats stats) {
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public Map<String, Object> check() {
+        return stats.check();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        stats.rebuild();
+        return stats.check();
+    }
+}
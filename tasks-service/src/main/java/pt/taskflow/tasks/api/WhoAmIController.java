@@ -1,5 +1,6 @@
 package pt.taskflow.tasks.api;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -9,6 +10,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@Lazy // created on the first /whoami, not at startup
 public class WhoAmIController {
 
     @GetMapping("/whoami")
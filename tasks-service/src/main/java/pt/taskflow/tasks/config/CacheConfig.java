@@ -0,0 +1,62 @@
+package pt.taskflow.tasks.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import pt.taskflow.tasks.domain.TaskRepository;
+import pt.taskflow.tasks.infra.BroadcastingCacheManager;
+import pt.taskflow.tasks.infra.CacheInvalidationBus;
+import pt.taskflow.tasks.infra.HttpCacheInvalidationBus;
+import pt.taskflow.tasks.infra.LocalCacheInvalidationBus;
+
+/**
+ * In-process read cache for tasks (see the @Cacheable/@CacheEvict on TaskRepository).
+ *
+ * - localCacheManager: Caffeine, bounded by size and TTL (tasks.cache.spec). The cache
+ *   names are fixed up front so Actuator binds cache.gets/cache.evictions/... at startup.
+ * - cacheManager (@Primary, used by the annotations): same caches, but local evictions are
+ *   also published to the other replicas through a CacheInvalidationBus (fills stay local).
+ *
+ * tasks.cache.invalidation.mode:
+ *   - local (default): no cross-instance messages; peers converge within the TTL.
+ *   - http:  invalidations are POSTed to every instance registered in discovery, with the
+ *            shared secret tasks.cache.invalidation.token (required in this mode).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CaffeineCacheManager localCacheManager(
+            @Value("${tasks.cache.spec:maximumSize=10000,expireAfterWrite=30s,recordStats}") String spec) {
+        CaffeineCacheManager manager = new CaffeineCacheManager(TaskRepository.CACHE_TASKS, TaskRepository.CACHE_TASK_LISTS);
+        manager.setAllowNullValues(false);
+        manager.setCacheSpecification(spec);
+        return manager;
+    }
+
+    @Bean
+    @Primary
+    public BroadcastingCacheManager cacheManager(CaffeineCacheManager localCacheManager, CacheInvalidationBus bus) {
+        return new BroadcastingCacheManager(localCacheManager, bus);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tasks.cache.invalidation.mode", havingValue = "http")
+    public HttpCacheInvalidationBus httpCacheInvalidationBus(DiscoveryClient discovery,
+                                                             @Value("${spring.application.name}") String serviceId,
+                                                             @Value("${tasks.cache.invalidation.token:}") String token) {
+        return new HttpCacheInvalidationBus(discovery, serviceId, token);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tasks.cache.invalidation.mode", havingValue = "local", matchIfMissing = true)
+    public LocalCacheInvalidationBus localCacheInvalidationBus() {
+        return new LocalCacheInvalidationBus();
+    }
+}
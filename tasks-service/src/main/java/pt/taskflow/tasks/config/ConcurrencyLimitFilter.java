@@ -0,0 +1,191 @@
+package pt.taskflow.tasks.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import pt.taskflow.tasks.api.ErrorResponse;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter.Outcome;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter.Permit;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter.Priority;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static pt.taskflow.tasks.config.CorrelationIdFilter.CORR_ID_HEADER;
+
+/**
+ * ConcurrencyLimitFilter
+ * ----------------------
+ * Purpose:
+ *   - Load shedding: at most ConcurrencyLimiter.limit() requests are processed at once; the
+ *     next ones get 503 + Retry-After right away instead of queueing in Tomcat until every
+ *     request times out. The limit adapts to the observed latency (see ConcurrencyLimiter),
+ *     so past saturation the service keeps answering the requests it admits at normal speed.
+ *
+ * Routes (tasks.concurrency.routes, see ConcurrencyLimitProperties; "[METHOD /ant/pattern]" or
+ * "[/ant/pattern]": priority, first match wins, unmatched = normal):
+ *   - critical: may use the whole limit (GET /tasks/**),
+ *   - normal:   up to 90% of it (writes),
+ *   - low:      up to 50% (/diagnostics/**, GET /tasks/export); their latency is not a sample
+ *               either, since the simulate endpoints are slow on purpose and exports are long,
+ *   - exempt:   not limited (actuator probes, the long-lived SSE stream, cache invalidations
+ *               from the other replicas).
+ *
+ * Notes:
+ *   - Runs before CorrelationIdFilter and RequestLoggingFilter, so a shed request costs
+ *     almost nothing (it is still counted by http.server.requests, with status 503).
+ *   - Async requests (SSE, Mono results) hold their permit until the async request completes.
+ *   - Disable with tasks.concurrency.enabled=false.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "tasks.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final ConcurrencyLimiter limiter;
+    private final Map<Route, Priority> routes = new LinkedHashMap<>();
+    private final String retryAfterSeconds;
+    private final ObjectMapper mapper;
+
+    /** One configured route; method null = any method. */
+    private record Route(String method, String pattern) {}
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties props, MeterRegistry registry, ObjectMapper mapper) {
+        this.limiter = new ConcurrencyLimiter("inbound", props.initialLimit(), props.minLimit(), props.maxLimit(),
+                props.tolerance(), props.windowSize(), registry);
+        props.routes().forEach((key, priority) -> routes.put(route(key), priority(priority)));
+        this.retryAfterSeconds = String.valueOf(Math.max(1, props.retryAfter().toSeconds()));
+        this.mapper = mapper;
+    }
+
+    public ConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Priority priority = priority(request);
+        if (priority == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Permit permit = limiter.tryAcquire(priority);
+        if (permit == null) {
+            reject(request, response);
+            return;
+        }
+        // LOW routes share the limit but are not latency samples
+        boolean sampled = priority != Priority.LOW;
+        Throwable failure = null;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure == null && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Completion(permit, sampled));
+            } else {
+                permit.release(failure != null || !sampled ? Outcome.IGNORE : outcome(response.getStatus()));
+            }
+        }
+    }
+
+    /** 503 / 504 from the handler (an overloaded or timed-out dependency): dropped because of load. */
+    private static Outcome outcome(int status) {
+        return status == 503 || status == 504 ? Outcome.DROPPED : Outcome.SUCCESS;
+    }
+
+    /** Priority of this request, null when it is exempt. */
+    private Priority priority(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        for (Map.Entry<Route, Priority> e : routes.entrySet()) {
+            Route r = e.getKey();
+            if ((r.method() == null || r.method().equals(method)) && MATCHER.match(r.pattern(), path)) return e.getValue();
+        }
+        return Priority.NORMAL;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                OffsetDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Too many concurrent requests, retry later",
+                request.getRequestURI(),
+                request.getHeader(CORR_ID_HEADER)));
+    }
+
+    /** "GET /tasks/**" or "/tasks/**". */
+    private static Route route(String key) {
+        String[] parts = key.trim().split("\\s+", 2);
+        return parts.length == 2 ? new Route(parts[0].toUpperCase(Locale.ROOT), parts[1]) : new Route(null, parts[0]);
+    }
+
+    /** critical | normal | low | exempt (null). */
+    private static Priority priority(String value) {
+        String v = value.trim().toUpperCase(Locale.ROOT);
+        return v.equals("EXEMPT") ? null : Priority.valueOf(v);
+    }
+
+    /** Releases the permit of an async request once its response is complete (or timed out / failed). */
+    private static final class Completion implements AsyncListener {
+
+        private final Permit permit;
+        private final boolean sampled;
+
+        Completion(Permit permit, boolean sampled) {
+            this.permit = permit;
+            this.sampled = sampled;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release(sampled ? outcome(((HttpServletResponse) event.getSuppliedResponse()).getStatus()) : Outcome.IGNORE);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(sampled ? Outcome.DROPPED : Outcome.IGNORE);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(Outcome.IGNORE);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this); // listeners are dropped on re-dispatch
+        }
+    }
+}
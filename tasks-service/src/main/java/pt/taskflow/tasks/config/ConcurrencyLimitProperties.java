@@ -0,0 +1,40 @@
+package pt.taskflow.tasks.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * tasks.concurrency.* (ConcurrencyLimitFilter).
+ *
+ * routes keeps the configured order ("[METHOD /ant/pattern]": critical | normal | low | exempt,
+ * first match wins); when none are configured, defaultRoutes() applies.
+ */
+@ConfigurationProperties("tasks.concurrency")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("8") int minLimit,
+        @DefaultValue("400") int maxLimit,
+        @DefaultValue("1.5") double tolerance,
+        @DefaultValue("50") int windowSize,
+        @DefaultValue("1s") Duration retryAfter,
+        Map<String, String> routes) {
+
+    public ConcurrencyLimitProperties {
+        routes = routes == null || routes.isEmpty() ? defaultRoutes() : routes;
+    }
+
+    static Map<String, String> defaultRoutes() {
+        Map<String, String> routes = new LinkedHashMap<>();
+        routes.put("/actuator/**", "exempt");
+        routes.put("GET /tasks/stream", "exempt");
+        routes.put("/internal/**", "exempt");
+        routes.put("GET /tasks/export", "low");
+        routes.put("GET /tasks/**", "critical");
+        routes.put("/diagnostics/**", "low");
+        return routes;
+    }
+}
@@ -0,0 +1,35 @@
+package pt.taskflow.tasks.config;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import static pt.taskflow.tasks.config.CorrelationIdFilter.CORR_ID_HEADER;
+
+/**
+ * CorrelationIdExchangeFilter
+ * ---------------------------
+ * Purpose:
+ *   - Forward the current correlation id on every outbound WebClient call (X-Correlation-Id),
+ *     so the called service logs the same corrId (see CorrelationIdFilter on that side).
+ *
+ * Notes:
+ *   - The id comes from the Reactor Context (CorrelationIds.CONTEXT_KEY), read when the
+ *     request is actually sent: retries and hedges run on other threads, where the MDC is
+ *     empty, but the Context travels with the subscription.
+ *   - A header set explicitly on the request wins.
+ */
+public class CorrelationIdExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.headers().containsKey(CORR_ID_HEADER)) return next.exchange(request);
+        return Mono.deferContextual(ctx -> {
+            String corrId = ctx.getOrDefault(CorrelationIds.CONTEXT_KEY, null);
+            if (corrId == null) return next.exchange(request);
+            return next.exchange(ClientRequest.from(request).header(CORR_ID_HEADER, corrId).build());
+        });
+    }
+}
@@ -9,7 +9,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * CorrelationIdFilter
@@ -17,7 +16,7 @@ import java.util.UUID;
  * Purpose:
  *   - Ensure every incoming HTTP request has a correlation id (corrId).
  *   - If the client (or Gateway) already sent one via "X-Correlation-Id", we use it.
- *   - Otherwise, we generate a new UUID.
+ *   - Otherwise, we generate a new one (a ULID, see CorrelationIds).
  *   - Store corrId + local server port + path in the MDC so they appear in logs.
  *   - Echo corrId back to the client in the response header for easier troubleshooting.
  *
@@ -28,6 +27,8 @@ import java.util.UUID;
  * Notes:
  *   - OncePerRequestFilter guarantees this runs exactly once per request.
  *   - Always clear MDC in a finally block to avoid leakage between requests/threads.
+ *   - The local port string is cached: an instance listens on one or two ports, so
+ *     there is no need to build the same string on every request.
  */
 @Component
 public class CorrelationIdFilter extends OncePerRequestFilter {
@@ -40,6 +41,11 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
     public static final String MDC_LOCAL_PORT = "localPort";
     public static final String MDC_PATH       = "path";
 
+    /** Last local port seen and its string form (a racy read just rebuilds the string). */
+    private volatile PortString lastPort = new PortString(-1, "");
+
+    private record PortString(int port, String text) {}
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -49,13 +55,13 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
         // 1) Read corrId from header (if present), otherwise create a new one.
         String corrId = request.getHeader(CORR_ID_HEADER);
         if (corrId == null || corrId.isBlank()) {
-            corrId = UUID.randomUUID().toString();
+            corrId = CorrelationIds.next();
         }
 
         try {
             // 2) Put useful attributes into MDC so they appear in log patterns.
             MDC.put(MDC_CORR_ID, corrId);
-            MDC.put(MDC_LOCAL_PORT, String.valueOf(request.getLocalPort()));
+            MDC.put(MDC_LOCAL_PORT, portString(request.getLocalPort()));
             MDC.put(MDC_PATH, request.getMethod() + " " + request.getRequestURI());
 
             // 3) Echo corrId in the response header (helps clients correlate).
@@ -71,4 +77,10 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
             MDC.remove(MDC_PATH);
         }
     }
+
+    private String portString(int port) {
+        PortString last = lastPort;
+        if (last.port() != port) lastPort = last = new PortString(port, String.valueOf(port));
+        return last.text();
+    }
 }
@@ -0,0 +1,63 @@
+package pt.taskflow.tasks.config;
+
+import org.slf4j.MDC;
+import reactor.util.context.Context;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * CorrelationIds
+ * --------------
+ * Purpose:
+ *   - Generate correlation ids as ULIDs: 26 chars of Crockford base32, 48-bit millisecond
+ *     timestamp followed by 80 random bits. They sort by creation time, so log lines and
+ *     traces of the same period sit together.
+ *   - Carry the current id across threads in the Reactor Context (key CONTEXT_KEY), since
+ *     the MDC is thread-local and does not follow a Mono onto Reactor/Netty threads.
+ *
+ * Why not UUID.randomUUID():
+ *   - it draws from one shared SecureRandom (a lock under load); correlation ids need to be
+ *     unique, not secret. ThreadLocalRandom has no shared state, so generation does not
+ *     contend however many request threads call it.
+ *   - not monotonic within a millisecond on purpose: that would need shared state again.
+ */
+public final class CorrelationIds {
+
+    /** Reactor Context key holding the correlation id of the current request. */
+    public static final String CONTEXT_KEY = CorrelationIdFilter.MDC_CORR_ID;
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long MASK_40 = (1L << 40) - 1;
+
+    private CorrelationIds() {}
+
+    public static String next() {
+        char[] id = new char[26];
+        long time = System.currentTimeMillis();
+        for (int i = 9; i >= 0; i--) {          // 10 chars x 5 bits >= 48 bits
+            id[i] = CROCKFORD[(int) (time & 31)];
+            time >>>= 5;
+        }
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        encode40(rnd.nextLong() & MASK_40, id, 10);
+        encode40(rnd.nextLong() & MASK_40, id, 18);
+        return new String(id);
+    }
+
+    private static void encode40(long bits, char[] id, int from) {
+        for (int i = from + 7; i >= from; i--) {
+            id[i] = CROCKFORD[(int) (bits & 31)];
+            bits >>>= 5;
+        }
+    }
+
+    /**
+     * For Mono/Flux.contextWrite: keeps an id already in the Context, otherwise takes the one
+     * in the MDC of the subscribing thread (the request thread, in the servlet stack).
+     */
+    public static Context fromMdc(Context context) {
+        if (context.hasKey(CONTEXT_KEY)) return context;
+        String corrId = MDC.get(CorrelationIdFilter.MDC_CORR_ID);
+        return corrId != null ? context.put(CONTEXT_KEY, corrId) : context;
+    }
+}
@@ -0,0 +1,24 @@
+package pt.taskflow.tasks.config;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import pt.taskflow.tasks.domain.ReactiveTaskRepository;
+import pt.taskflow.tasks.domain.TaskRepository;
+
+/**
+ * JPA repositories of the servlet stack (replaces Boot's default scan).
+ *
+ * Task is both a JPA @Entity and the R2DBC entity of ReactiveTaskRepository, so the JPA
+ * scan would claim that repository too and fail ("Reactive Repositories are not supported
+ * by JPA"). It belongs to the "reactive" profile, where JPA is switched off.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableJpaRepositories(
+        basePackageClasses = TaskRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveTaskRepository.class))
+public class JpaConfig {
+}
@@ -0,0 +1,57 @@
+package pt.taskflow.tasks.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Metrics shared by every meter of the service.
+ *
+ * - localPort tag: the port this instance listens on, so replicas on one host can be
+ *   compared (same value as %X{localPort} in the logs). Taken from server.port at startup and
+ *   replaced by the bound port once the web server is up (server.port=0 gives a random one);
+ *   only meters registered before that (JVM, pools) can carry the configured value.
+ *
+ * Latency histograms, percentiles and SLO buckets are configuration
+ * (management.metrics.distribution in config-repo/tasks-service.yml).
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String LOCAL_PORT_TAG = "localPort";
+
+    @Bean
+    public LocalPortMeterFilter localPortMeterFilter(Environment env) {
+        return new LocalPortMeterFilter(env.getProperty("server.port", "8080"));
+    }
+
+    public static final class LocalPortMeterFilter implements MeterFilter, ApplicationListener<WebServerInitializedEvent> {
+
+        private volatile String port;
+
+        LocalPortMeterFilter(String port) {
+            this.port = port;
+        }
+
+        public String port() {
+            return port;
+        }
+
+        @Override
+        public Meter.Id map(Meter.Id id) {
+            return id.getTag(LOCAL_PORT_TAG) != null ? id : id.withTag(Tag.of(LOCAL_PORT_TAG, port));
+        }
+
+        @Override
+        public void onApplicationEvent(WebServerInitializedEvent event) {
+            // management.server.port would be a second server: the application one is what we tag
+            if (event.getApplicationContext().getServerNamespace() == null)
+                port = String.valueOf(event.getWebServer().getPort());
+        }
+    }
+}
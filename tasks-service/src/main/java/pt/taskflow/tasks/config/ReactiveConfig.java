@@ -0,0 +1,24 @@
+package pt.taskflow.tasks.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * "reactive" profile (ReactiveTaskController + ReactiveTaskRepository).
+ *
+ * Tomcat stays on the classpath for the default servlet stack, and Boot prefers it over
+ * Netty for WebFlux too; declaring the factory runs the reactive stack on Reactor Netty,
+ * whose event loops (reactor.netty.ioWorkerCount, one per CPU by default) serve every
+ * connection, including the R2DBC I/O.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,43 @@
+package pt.taskflow.tasks.config;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import static pt.taskflow.tasks.config.CorrelationIdFilter.CORR_ID_HEADER;
+
+/**
+ * ReactiveCorrelationIdFilter
+ * ---------------------------
+ * CorrelationIdFilter for the "reactive" profile (WebFlux):
+ *   - Reuse X-Correlation-Id from the client/Gateway, or generate one (CorrelationIds).
+ *   - Echo it in the response header.
+ *   - Put it in the Reactor Context (CorrelationIds.CONTEXT_KEY) instead of the MDC: a request
+ *     hops between event-loop threads, the Context follows it (and outbound WebClient calls
+ *     forward it, see CorrelationIdExchangeFilter).
+ *   - A generated id is also added to the request headers, so ReactiveExceptionHandler
+ *     reports the same corrId.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveCorrelationIdFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(CORR_ID_HEADER);
+        boolean generated = header == null || header.isBlank();
+        String corrId = generated ? CorrelationIds.next() : header;
+
+        ServerWebExchange withId = !generated ? exchange
+                : exchange.mutate().request(r -> r.headers(h -> h.set(CORR_ID_HEADER, corrId))).build();
+        withId.getResponse().getHeaders().set(CORR_ID_HEADER, corrId);
+
+        return chain.filter(withId).contextWrite(ctx -> ctx.put(CorrelationIds.CONTEXT_KEY, corrId));
+    }
+}
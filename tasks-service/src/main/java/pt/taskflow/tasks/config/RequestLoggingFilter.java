@@ -1,40 +1,112 @@
 package pt.taskflow.tasks.config;
 
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import pt.taskflow.tasks.infra.AccessLog;
 
 import java.io.IOException;
 
+import static pt.taskflow.tasks.config.CorrelationIdFilter.CORR_ID_HEADER;
+
 /**
- * RequestLoggingFilter (Optional)
- * ------------------------------
+ * RequestLoggingFilter
+ * --------------------
  * Purpose:
- *   - Print one INFO log per request with method, URI, local port and user agent.
- *   - This is *in addition* to the MDC-based pattern; it’s very didactic for learners.
+ *   - One access log entry per request: method, URI, route, status, duration, corrId, local
+ *     port and user agent, written as a JSON line by AccessLog (asynchronously, sampled).
  *
- * If you prefer Tomcat access logs or Reactor Netty access logs, you can disable this filter.
+ * Notes:
+ *   - Timing and status are taken after the chain; for async requests (SSE, Mono/Flux
+ *     results) when the async request completes, so the duration covers the whole response.
+ *   - corrId is read from the response header set by CorrelationIdFilter, so the order of
+ *     the two filters does not matter.
+ *   - If you prefer Tomcat access logs or Reactor Netty access logs, set
+ *     tasks.access-log.enabled=false.
  */
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
-    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    private final AccessLog accessLog;
+
+    public RequestLoggingFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
 
     @Override
-    protected void doFilterInternal(
-            HttpServletRequest request,
-            jakarta.servlet.http.HttpServletResponse response,
-            FilterChain chain) throws ServletException, IOException {
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure == null && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Completion(start));
+            } else {
+                done(request, response, start, failure);
+            }
+        }
+    }
 
-        log.info("REQ {} {} port={} ua=\"{}\"",
+    private void done(HttpServletRequest request, HttpServletResponse response, long start, Throwable failure) {
+        long duration = System.nanoTime() - start;
+        int status = failure != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : null;
+        if (!accessLog.wants(route != null ? route : request.getRequestURI(), status, duration, failure != null)) return;
+        accessLog.record(new AccessLog.Entry(
+                System.currentTimeMillis(),
                 request.getMethod(),
                 request.getRequestURI(),
+                route,
+                status,
+                duration,
+                response.getHeader(CORR_ID_HEADER),
                 request.getLocalPort(),
-                request.getHeader("User-Agent"));
+                request.getHeader("User-Agent"),
+                failure != null ? failure.getClass().getSimpleName() : null));
+    }
+
+    /** Logs async requests once the response is complete (or timed out / failed). */
+    private final class Completion implements AsyncListener {
+
+        private final long start;
+        private Throwable failure;
+
+        Completion(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            done((HttpServletRequest) event.getSuppliedRequest(),
+                    (HttpServletResponse) event.getSuppliedResponse(), start, failure);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failure = event.getThrowable();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failure = event.getThrowable();
+        }
 
-        chain.doFilter(request, response);
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this); // listeners are dropped on re-dispatch
+        }
     }
 }
@@ -0,0 +1,60 @@
+package pt.taskflow.tasks.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import pt.taskflow.tasks.domain.TaskRepository;
+import pt.taskflow.tasks.infra.InMemoryTaskSearch;
+import pt.taskflow.tasks.infra.PostgresTaskSearch;
+import pt.taskflow.tasks.infra.TaskSearch;
+
+/**
+ * Backend of GET /tasks/search (see TaskSearch), chosen by tasks.search.mode:
+ *   - memory (default): InMemoryTaskSearch, works on any database (H2 dev schema); built in
+ *     the background at startup, see searchIndexHealthIndicator.
+ *   - postgres: PostgresTaskSearch, needs schema.sql (search_vector + GIN index); set in
+ *     tasks-service-docker.yml. Ranks at most tasks.search.max-candidates matches per query.
+ */
+@Configuration
+@Profile("!reactive")
+public class SearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tasks.search.mode", havingValue = "postgres")
+    public PostgresTaskSearch postgresTaskSearch(TaskRepository repo,
+                                                 @Value("${tasks.search.max-candidates:1000}") int maxCandidates) {
+        return new PostgresTaskSearch(repo, maxCandidates);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tasks.search.mode", havingValue = "memory", matchIfMissing = true)
+    public InMemoryTaskSearch inMemoryTaskSearch(TaskRepository repo, PlatformTransactionManager transactions,
+                                                 MeterRegistry registry) {
+        return new InMemoryTaskSearch(repo, transactions, registry);
+    }
+
+    /**
+     * "searchIndex": OUT_OF_SERVICE until the backend is ready (InMemoryTaskSearch's first
+     * build; PostgresTaskSearch always is). Part of the readiness group (config-repo:
+     * management.endpoint.health.group.readiness), so a replica only takes traffic once its
+     * searches see every task.
+     */
+    @Bean
+    public HealthIndicator searchIndexHealthIndicator(TaskSearch search) {
+        return () -> {
+            Health.Builder health = search.ready() ? Health.up() : Health.outOfService();
+            health.withDetail("backend", search.backend());
+            if (search instanceof InMemoryTaskSearch memory) {
+                health.withDetail("documents", memory.documents());
+                if (memory.buildError() != null) health.withDetail("error", memory.buildError());
+            }
+            return health.build();
+        };
+    }
+}
@@ -0,0 +1,213 @@
+package pt.taskflow.tasks.config;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import pt.taskflow.tasks.domain.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * TaskProtobufHttpMessageConverter
+ * --------------------------------
+ * Purpose:
+ *   - Write Task (message Task) and lists of tasks (message TaskList) as Protobuf, for
+ *     clients sending "Accept: application/x-protobuf". Schema: src/main/proto/task.proto.
+ *
+ * Notes:
+ *   - Write-only, and only for tasks: other bodies (stats, errors) are not negotiable to
+ *     Protobuf, so such clients should also accept application/json.
+ *   - The wire encoding is written by hand (varints and length-delimited fields), so the
+ *     service needs neither protobuf-java nor generated classes for a two-message schema.
+ *     TaskProtobufWireFormatTest decodes it with a minimal wire-format reader in every build;
+ *     TaskProtobufRoundTripTest decodes it with the classes generated from task.proto
+ *     (mvn -Pprotobuf test): run it too after any change to the schema or to this encoder.
+ *   - Null fields are omitted, as proto3 does for unset fields.
+ */
+public class TaskProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    public TaskProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Task.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /** Task, or a collection declared as holding tasks (e.g. the List<Task> of ResponseEntity<List<Task>>). */
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) return false;
+        ResolvableType body = ResolvableType.forType(type != null ? type : clazz);
+        if (Task.class.isAssignableFrom(body.toClass())) return true;
+        Class<?> element = body.asCollection().resolveGeneric(0);
+        return element != null && Task.class.isAssignableFrom(element);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage output) throws IOException {
+        OutputStream out = output.getBody();
+        if (body instanceof Task task) {
+            encode(task).writeTo(out);
+        } else {
+            writeList((Collection<?>) body, out);
+        }
+    }
+
+    /**
+     * message TaskList { repeated Task tasks = 1; }
+     * Encoded whole, then written once: list bodies are pages (bounded), and one write keeps
+     * the gzip stream from deflating two small chunks per task.
+     */
+    public static void writeList(Collection<?> tasks, OutputStream out) throws IOException {
+        ProtoBuffer list = new ProtoBuffer(256 * Math.max(1, tasks.size()));
+        ProtoBuffer task = new ProtoBuffer(256);
+        for (Object t : tasks) {
+            task.reset();
+            encode((Task) t, task);
+            list.tag(1, LENGTH_DELIMITED);
+            list.varint(task.size());
+            list.append(task);
+        }
+        list.writeTo(out);
+    }
+
+    /** message Task, see task.proto for the field numbers. */
+    public static ProtoBuffer encode(Task t) {
+        ProtoBuffer b = new ProtoBuffer(256);
+        encode(t, b);
+        return b;
+    }
+
+    private static void encode(Task t, ProtoBuffer b) {
+        b.string(1, t.getId());
+        b.string(2, t.getTitle());
+        b.string(3, t.getDescription());
+        b.string(4, t.getStatus());
+        b.string(5, t.getProjectId());
+        b.string(6, t.getAssignee());
+        b.timestamp(7, t.getCreatedAt());
+        b.timestamp(8, t.getUpdatedAt());
+        if (t.getVersion() != null && t.getVersion() != 0) {
+            b.tag(9, VARINT);
+            b.varint(t.getVersion());
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage input) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", input);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage input) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", input);
+    }
+
+    /**
+     * A growable byte buffer with the few Protobuf primitives task.proto needs.
+     * (Not a ByteArrayOutputStream: its methods are synchronized, and varints are written a byte at a time.)
+     */
+    public static final class ProtoBuffer {
+
+        private byte[] buf;
+        private int size;
+
+        ProtoBuffer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void reset() {
+            size = 0;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(buf, 0, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+        }
+
+        void append(ProtoBuffer other) {
+            ensure(other.size);
+            System.arraycopy(other.buf, 0, buf, size, other.size);
+            size += other.size;
+        }
+
+        void tag(int field, int wireType) {
+            varint((long) field << 3 | wireType);
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        void string(int field, String value) {
+            if (value == null) return;
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            tag(field, LENGTH_DELIMITED);
+            varint(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buf, size, utf8.length);
+            size += utf8.length;
+        }
+
+        /** google.protobuf.Timestamp { int64 seconds = 1; int32 nanos = 2; } */
+        void timestamp(int field, Instant value) {
+            if (value == null) return;
+            long seconds = value.getEpochSecond();
+            int nanos = value.getNano();
+            int length = (seconds != 0 ? 1 + varintSize(seconds) : 0) + (nanos != 0 ? 1 + varintSize(nanos) : 0);
+            tag(field, LENGTH_DELIMITED);
+            varint(length);
+            if (seconds != 0) {
+                tag(1, VARINT);
+                varint(seconds);
+            }
+            if (nanos != 0) {
+                tag(2, VARINT);
+                varint(nanos);
+            }
+        }
+
+        private static int varintSize(long value) {
+            return value < 0 ? 10 : Math.max(1, (63 - Long.numberOfLeadingZeros(value)) / 7 + 1);
+        }
+    }
+}
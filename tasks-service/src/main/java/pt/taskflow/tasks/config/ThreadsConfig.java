@@ -0,0 +1,54 @@
+package pt.taskflow.tasks.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pt.taskflow.tasks.infra.VirtualThreadPinningMonitor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Execution mode: platform threads (default) or virtual threads, chosen by
+ * spring.threads.virtual.enabled (TASKS_VIRTUAL_THREADS in config-repo).
+ *
+ * With virtual threads Spring Boot already runs on them:
+ * - Tomcat request handling (controllers, JPA/JDBC calls, Thread.sleep in /diagnostics),
+ * - the applicationTaskExecutor and @Scheduled tasks.
+ * This class adds what Boot does not switch:
+ * - blockingScheduler: where Reactor pipelines hand off blocking work (SSE writes in
+ *   TaskEventStream). boundedElastic on platform threads, one virtual thread per task otherwise.
+ * - VirtualThreadPinningMonitor: reports virtual threads that block while pinned to their
+ *   carrier (synchronized blocks, native frames such as some JDBC drivers).
+ *
+ * The Hikari pool stays the limit for database work: with virtual threads, requests beyond
+ * maximum-pool-size wait for a connection instead of for a Tomcat thread.
+ */
+@Configuration
+public class ThreadsConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Scheduler blockingScheduler() {
+        return Schedulers.boundedElastic(); // shared Reactor scheduler: not disposed here
+    }
+
+    @Bean(name = "blockingScheduler", destroyMethod = "dispose")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Scheduler virtualBlockingScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "blocking-virtual");
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry registry,
+            @Value("${tasks.threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(registry, threshold);
+    }
+}
@@ -1,9 +1,12 @@
 package pt.taskflow.tasks.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
+import pt.taskflow.tasks.infra.OutboundTransports;
 
 /**
  * Provides a Load-Balanced WebClient.Builder.
@@ -13,15 +16,25 @@ import org.springframework.web.reactive.function.client.WebClient;
  *   instead of hard-coded host:port. The Spring Cloud LoadBalancer will pick an instance,
  *   using service discovery (Eureka) + round-robin by default.
  * - This means no code change is needed when you scale from 1 to N instances.
+ * - Boot's WebClientCustomizers are applied as on its own builder: codecs, and the
+ *   http.client.requests observation (one timing per attempt, retries included).
+ * - The transport is a configured, metered Reactor Netty pool (OutboundTransports, "default" pool);
+ *   clients bound to one service (OutboundClient) switch to that service's own pool.
+ * - Every call forwards X-Correlation-Id from the Reactor Context (CorrelationIdExchangeFilter).
  */
 @Configuration
 public class WebClientConfig {
 
     @Bean
     @LoadBalanced
-    public WebClient.Builder loadBalancedWebClientBuilder() {
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<WebClientCustomizer> customizers,
+                                                          OutboundTransports transports) {
         // Keep this builder generic; concrete baseUrl will be set in the client class
         // using externalized configuration (12-Factor: Config).
-        return WebClient.builder();
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(transports.connector(OutboundTransports.DEFAULT))
+                .filter(new CorrelationIdExchangeFilter());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
     }
 }
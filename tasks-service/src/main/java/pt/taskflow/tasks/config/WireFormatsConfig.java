@@ -0,0 +1,45 @@
+package pt.taskflow.tasks.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Response formats besides JSON, chosen by the Accept header (see TaskController):
+ *   - application/cbor               (CBOR, RFC 8949)
+ *   - application/x-jackson-smile    (Smile; repeated field names and short strings are
+ *                                     sent once and then referenced, which suits task lists)
+ *   - application/x-protobuf         (Task/TaskList only, see TaskProtobufHttpMessageConverter)
+ *
+ * The Jackson converters are built from Boot's Jackson2ObjectMapperBuilder, so CBOR and Smile
+ * serialize tasks exactly like JSON does (same modules, spring.jackson.* settings, ISO dates).
+ * Declared as beans, they replace the default ones Spring MVC would otherwise add.
+ *
+ * Gzip for the text formats is server.compression (config-repo tasks-service.yml).
+ */
+@Configuration
+public class WireFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smile = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES) // statuses, assignees, project ids
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smile).build());
+    }
+
+    @Bean
+    public TaskProtobufHttpMessageConverter taskProtobufHttpMessageConverter() {
+        return new TaskProtobufHttpMessageConverter();
+    }
+}
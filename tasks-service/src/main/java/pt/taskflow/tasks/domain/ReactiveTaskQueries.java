@@ -0,0 +1,38 @@
+package pt.taskflow.tasks.domain;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Custom part of ReactiveTaskRepository, on R2dbcEntityTemplate.
+ *
+ * Keyset listings: Spring Data R2DBC has no ScrollPosition support for derived queries.
+ * Same positions and Windows as the JPA finders, so TaskCursor works unchanged. Null
+ * filters are left out of the SQL, so each combination can use its index.
+ *
+ * Inserts: save() decides INSERT vs UPDATE from the id, which Task.prePersist assigns
+ * up front, so new tasks are inserted explicitly.
+ */
+public interface ReactiveTaskQueries {
+
+  /** INSERT of a new task (call Task.prePersist first); version starts at 0 as with JPA. */
+  Mono<Task> insert(Task task);
+
+  /** insert() for each task, in order (one statement per row). */
+  Flux<Task> insertAll(List<Task> tasks);
+
+  /** GET /tasks: mirrors the TaskRepository *OrderByCreatedAtDescIdDesc finders. */
+  Mono<Window<Task>> scrollByCreatedAt(String status, String projectId, ScrollPosition position, Limit limit);
+
+  /** GET /tasks/changes: mirrors the TaskRepository *OrderByUpdatedAtAscIdAsc finders. */
+  Mono<Window<Task>> scrollByUpdatedAt(String projectId, ScrollPosition position, Limit limit);
+
+  /** Mirrors TaskRepository.streamForExport; rows are fetched as the subscriber requests them. */
+  Flux<Task> streamForExport(String status, String projectId, Instant updatedSince);
+}
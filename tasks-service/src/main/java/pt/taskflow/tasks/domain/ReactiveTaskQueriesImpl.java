@@ -0,0 +1,106 @@
+package pt.taskflow.tasks.domain;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/** Fragment implementation of ReactiveTaskQueries (picked up by name by Spring Data). */
+class ReactiveTaskQueriesImpl implements ReactiveTaskQueries {
+
+  private static final String CREATED_AT = "createdAt";
+  private static final String UPDATED_AT = "updatedAt";
+
+  private final R2dbcEntityTemplate template;
+
+  ReactiveTaskQueriesImpl(R2dbcEntityTemplate template) {
+    this.template = template;
+  }
+
+  @Override
+  public Mono<Task> insert(Task task) {
+    if (task.getVersion() == null) task.setVersion(0L);
+    return template.insert(task);
+  }
+
+  @Override
+  public Flux<Task> insertAll(List<Task> tasks) {
+    return Flux.fromIterable(tasks).concatMap(this::insert);
+  }
+
+  @Override
+  public Mono<Window<Task>> scrollByCreatedAt(String status, String projectId, ScrollPosition position, Limit limit) {
+    List<Criteria> where = filters(status, projectId);
+    KeysetScrollPosition keyset = (KeysetScrollPosition) position;
+    if (!keyset.isInitial()) {
+      // (createdAt, id) < (t, id) for a descending listing; createdAt <= t is what the index seeks on
+      Instant t = (Instant) keyset.getKeys().get(CREATED_AT);
+      String id = (String) keyset.getKeys().get("id");
+      where.add(Criteria.where(CREATED_AT).lessThanOrEquals(t));
+      where.add(Criteria.where(CREATED_AT).lessThan(t)
+          .or(Criteria.where(CREATED_AT).is(t).and("id").lessThan(id)));
+    }
+    Sort sort = Sort.by(Sort.Order.desc(CREATED_AT), Sort.Order.desc("id"));
+    return page(where, sort, limit, CREATED_AT, Task::getCreatedAt);
+  }
+
+  @Override
+  public Mono<Window<Task>> scrollByUpdatedAt(String projectId, ScrollPosition position, Limit limit) {
+    List<Criteria> where = filters(null, projectId);
+    KeysetScrollPosition keyset = (KeysetScrollPosition) position;
+    if (!keyset.isInitial()) {
+      // (updatedAt, id) > (t, id) for an ascending listing; updatedAt >= t is what the index seeks on
+      Instant t = (Instant) keyset.getKeys().get(UPDATED_AT);
+      String id = (String) keyset.getKeys().get("id");
+      where.add(Criteria.where(UPDATED_AT).greaterThanOrEquals(t));
+      where.add(Criteria.where(UPDATED_AT).greaterThan(t)
+          .or(Criteria.where(UPDATED_AT).is(t).and("id").greaterThan(id)));
+    }
+    Sort sort = Sort.by(Sort.Order.asc(UPDATED_AT), Sort.Order.asc("id"));
+    return page(where, sort, limit, UPDATED_AT, Task::getUpdatedAt);
+  }
+
+  @Override
+  public Flux<Task> streamForExport(String status, String projectId, Instant updatedSince) {
+    List<Criteria> where = filters(status, projectId);
+    if (updatedSince != null) where.add(Criteria.where(UPDATED_AT).greaterThanOrEquals(updatedSince));
+    return template.select(Query.query(Criteria.from(where)), Task.class);
+  }
+
+  private static List<Criteria> filters(String status, String projectId) {
+    List<Criteria> where = new ArrayList<>(3);
+    if (status != null) where.add(Criteria.where("status").is(status));
+    if (projectId != null) where.add(Criteria.where("projectId").is(projectId));
+    return where;
+  }
+
+  /** Reads one row more than asked for, only to know whether a next page exists. */
+  private Mono<Window<Task>> page(List<Criteria> where, Sort sort, Limit limit, String timeKey,
+                                  Function<Task, Instant> time) {
+    int max = limit.max();
+    Query query = Query.query(Criteria.from(where)).sort(sort).limit(max + 1);
+    return template.select(query, Task.class).collectList().map(rows -> {
+      boolean hasNext = rows.size() > max;
+      List<Task> content = hasNext ? rows.subList(0, max) : rows;
+      return Window.from(content, i -> {
+        Map<String, Object> keys = new LinkedHashMap<>(); // time first, then id (the sort order)
+        keys.put(timeKey, time.apply(content.get(i)));
+        keys.put("id", content.get(i).getId());
+        return ScrollPosition.forward(keys);
+      }, hasNext);
+    });
+  }
+}
@@ -0,0 +1,58 @@
+package pt.taskflow.tasks.domain;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * R2DBC counterpart of TaskRepository, used only by the "reactive" profile
+ * (ReactiveTaskController). Same queries, written in SQL instead of JPQL, returning
+ * Mono/Flux; keyset listings come from ReactiveTaskQueries.
+ *
+ * Not cached: the Caffeine caches of TaskRepository belong to the servlet stack.
+ * R2DBC does not run Task.prePersist; callers invoke it before insert().
+ */
+public interface ReactiveTaskRepository extends R2dbcRepository<Task, String>, ReactiveTaskQueries {
+
+  @Query("""
+      select max(updated_at) as last_updated_at, count(*) as count from task
+      where (:status is null or status = :status)
+        and (:projectId is null or project_id = :projectId)
+      """)
+  Mono<TaskListStamp> stampOf(@Param("status") String status, @Param("projectId") String projectId);
+
+  @Modifying
+  @Query("""
+      update task set status = :status, updated_at = :now, version = version + 1
+      where id = :id and (:expectedVersion is null or version = :expectedVersion)
+      """)
+  Mono<Integer> updateStatus(@Param("id") String id,
+                             @Param("status") String status,
+                             @Param("expectedVersion") Long expectedVersion,
+                             @Param("now") Instant now);
+
+  @Modifying
+  @Query("""
+      update task set status = :status, updated_at = :now, version = version + 1
+      where id in (:ids)
+      """)
+  Mono<Integer> updateStatusByIds(@Param("ids") Collection<String> ids,
+                                  @Param("status") String status,
+                                  @Param("now") Instant now);
+
+  @Modifying
+  @Query("""
+      update task set status = :status, updated_at = :now, version = version + 1
+      where (:projectId is null or project_id = :projectId)
+        and (:fromStatus is null or status = :fromStatus)
+      """)
+  Mono<Integer> updateStatusWhere(@Param("projectId") String projectId,
+                                  @Param("fromStatus") String fromStatus,
+                                  @Param("status") String status,
+                                  @Param("now") Instant now);
+}
@@ -1,17 +1,20 @@
 package pt.taskflow.tasks.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.Instant;
-import java.util.UUID;
 
 /**
  * Simple Task entity mapped with JPA.
  * Lombok generates getters/setters/constructors/builder at compile time.
  * Note:
- *  - id is a UUID string generated on @PrePersist if missing
+ *  - id is a time-ordered UUID string (see TaskIds) generated on @PrePersist if missing
  *  - status defaults to "TODO" on @PrePersist if missing
  *  - createdAt/updatedAt timestamps are managed automatically
+ *  - version is the optimistic-lock counter (bumped on every update, read-only for clients)
+ *  - also mapped by Spring Data R2DBC (reactive profile, ReactiveTaskRepository), which
+ *    has no @PrePersist: callers invoke it, and inserts go through ReactiveTaskQueries.insert
  */
 @Entity
 @Getter @Setter
@@ -20,6 +23,7 @@ import java.util.UUID;
 public class Task {
 
   @Id
+  @org.springframework.data.annotation.Id
   private String id;
 
   private String title;        // required for create (no validation yet in Phase 0)
@@ -30,10 +34,14 @@ public class Task {
   private Instant createdAt;
   private Instant updatedAt;
 
+  @Version
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private Long version;
+
   /** Initialize defaults on first persist */
   @PrePersist
   public void prePersist() {
-    if (id == null) id = UUID.randomUUID().toString();
+    if (id == null) id = TaskIds.next();
     if (status == null) status = "TODO";
     createdAt = Instant.now();
     updatedAt = createdAt;
@@ -0,0 +1,6 @@
+package pt.taskflow.tasks.domain;
+
+/**
+ * One row of "GROUP BY status, projectId, assignee" (null projectId/assignee = none).
+ */
+public record TaskCount(String status, String projectId, String assignee, long count) {}
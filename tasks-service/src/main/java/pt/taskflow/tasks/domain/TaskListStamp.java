@@ -0,0 +1,12 @@
+package pt.taskflow.tasks.domain;
+
+import java.time.Instant;
+
+/**
+ * Cheap "version" of a filtered task list: newest updatedAt and row count.
+ * Any insert, update or delete under the filter changes at least one of the two,
+ * so it can stand in for the list when deciding whether a client copy is current.
+ *
+ * lastUpdatedAt is null for an empty list.
+ */
+public record TaskListStamp(Instant lastUpdatedAt, long count) {}
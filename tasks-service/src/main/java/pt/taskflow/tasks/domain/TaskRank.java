@@ -0,0 +1,12 @@
+package pt.taskflow.tasks.domain;
+
+/**
+ * One row of TaskRepository.searchRanked: a task id and its ts_rank for the query.
+ * (Interface projection: native queries map result columns by alias.)
+ */
+public interface TaskRank {
+
+  String getId();
+
+  Float getRank();
+}
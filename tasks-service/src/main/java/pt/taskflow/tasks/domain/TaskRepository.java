@@ -1,14 +1,234 @@
 package pt.taskflow.tasks.domain;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA generates the repository implementation at runtime.
  * Method names follow "query derivation" conventions, e.g. findByStatus.
+ *
+ * The *OrderByCreatedAtDescIdDesc variants do keyset (cursor) pagination:
+ * the ScrollPosition carries (createdAt, id) of the last row already seen, so the
+ * database seeks straight to the next page via the (filter, created_at, id) indexes instead
+ * of reading and discarding OFFSET rows. Spring Data writes the keyset as
+ * "created_at < t or (created_at = t and id < x)", which no index can seek on by itself;
+ * the extra createdAt <= upTo (upTo = t, see TaskCursor.bound) gives the scan its start.
+ * The *OrderByUpdatedAtAscIdAsc ones do the same forwards, with updatedAt >= since.
+ *
+ * streamForExport returns a lazily-fetched Stream backed by a Hibernate scroll
+ * (server-side cursor on PostgreSQL). It must be consumed inside a transaction
+ * and closed afterwards (try-with-resources); see TaskExporter.
+ *
+ * The update*Status methods are single UPDATE statements (no entity load, no dirty checking).
+ * Being bulk JPQL they bypass @PreUpdate/@Version handling, so they set updated_at and
+ * bump version themselves, and return the number of rows changed.
+ *
+ * searchRanked is PostgreSQL-only (tsvector); other databases use InMemoryTaskSearch.
+ *
+ * Caching (see CacheConfig): findById and the paginated list queries are served from
+ * in-process caches; every write below evicts the affected entries. Writes that
+ * bypass this interface (TaskBatchWriter) must evict CACHE_TASK_LISTS themselves.
  */
 public interface TaskRepository extends JpaRepository<Task, String> {
+
+  /** Cache of single tasks, keyed by id. */
+  String CACHE_TASKS = "tasks";
+  /** Cache of list pages, keyed by query method + arguments. Cleared on any write. */
+  String CACHE_TASK_LISTS = "taskLists";
+
+  @Override
+  @Cacheable(cacheNames = CACHE_TASKS, unless = "#result == null")
+  Optional<Task> findById(String id);
+
+  @Override
+  /** Evicts rather than puts the task: only evictions reach the other replicas (BroadcastingCacheManager). */
+  @Caching(evict = {@CacheEvict(cacheNames = CACHE_TASKS, key = "#result.id"),
+                    @CacheEvict(cacheNames = CACHE_TASK_LISTS, allEntries = true)})
+  <S extends Task> S save(S entity);
+
   List<Task> findByStatus(String status);
   List<Task> findByProjectId(String projectId);
   List<Task> findByStatusAndProjectId(String status, String projectId);
+
+  @Cacheable(cacheNames = CACHE_TASK_LISTS, key = "{#root.methodName, #p0, #p1, #p2}")
+  Window<Task> findByCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(Instant upTo, ScrollPosition position, Limit limit);
+
+  @Cacheable(cacheNames = CACHE_TASK_LISTS, key = "{#root.methodName, #p0, #p1, #p2, #p3}")
+  Window<Task> findByStatusAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(String status, Instant upTo,
+                                                                              ScrollPosition position, Limit limit);
+
+  @Cacheable(cacheNames = CACHE_TASK_LISTS, key = "{#root.methodName, #p0, #p1, #p2, #p3}")
+  Window<Task> findByProjectIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(String projectId, Instant upTo,
+                                                                                 ScrollPosition position, Limit limit);
+
+  @Cacheable(cacheNames = CACHE_TASK_LISTS, key = "{#root.methodName, #p0, #p1, #p2, #p3, #p4}")
+  Window<Task> findByStatusAndProjectIdAndCreatedAtLessThanEqualOrderByCreatedAtDescIdDesc(
+      String status, String projectId, Instant upTo, ScrollPosition position, Limit limit);
+
+  /** Forward keyset over (updatedAt, id) for GET /tasks/changes; not cached (each client polls its own "since"). */
+  Window<Task> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(Instant since, ScrollPosition position, Limit limit);
+  Window<Task> findByProjectIdAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAscIdAsc(String projectId, Instant since,
+                                                                                  ScrollPosition position, Limit limit);
+
+  /**
+   * The current row as a new, unmanaged Task: not from the cache and not attached to the
+   * persistence context, so the caller may change it freely (TaskController.updateStatus).
+   */
+  @Query("""
+      select new pt.taskflow.tasks.domain.Task(t.id, t.title, t.description, t.status, t.projectId, t.assignee,
+                                               t.createdAt, t.updatedAt, t.version)
+      from Task t where t.id = :id
+      """)
+  Optional<Task> findUnmanagedById(@Param("id") String id);
+
+  /** Counts behind TaskStats: run only when its counters are rebuilt or checked. */
+  @Query("""
+      select new pt.taskflow.tasks.domain.TaskCount(t.status, t.projectId, t.assignee, count(t))
+      from Task t group by t.status, t.projectId, t.assignee
+      """)
+  List<TaskCount> countByStatusProjectAndAssignee();
+
+  /** The same counts over the rows updateStatusByIds(ids, ...) changes (see TaskStats.bulkStatusChange). */
+  @Query("""
+      select new pt.taskflow.tasks.domain.TaskCount(t.status, t.projectId, t.assignee, count(t))
+      from Task t where t.id in :ids group by t.status, t.projectId, t.assignee
+      """)
+  List<TaskCount> countByIds(@Param("ids") Collection<String> ids);
+
+  /** The same counts over the rows updateStatusWhere(projectId, fromStatus, ...) changes. */
+  @Query("""
+      select new pt.taskflow.tasks.domain.TaskCount(t.status, t.projectId, t.assignee, count(t))
+      from Task t
+      where (:projectId is null or t.projectId = :projectId)
+        and (:fromStatus is null or t.status = :fromStatus)
+      group by t.status, t.projectId, t.assignee
+      """)
+  List<TaskCount> countWhere(@Param("projectId") String projectId, @Param("fromStatus") String fromStatus);
+
+  /** max(updatedAt) + count for a list filter (null filters ignored). Backs the list ETag. */
+  @Cacheable(cacheNames = CACHE_TASK_LISTS, key = "{#root.methodName, #p0, #p1}")
+  @Query("""
+      select new pt.taskflow.tasks.domain.TaskListStamp(max(t.updatedAt), count(t)) from Task t
+      where (:status is null or t.status = :status)
+        and (:projectId is null or t.projectId = :projectId)
+      """)
+  TaskListStamp stampOf(@Param("status") String status, @Param("projectId") String projectId);
+
+  /** Rows per JDBC round-trip while streaming; also how often the exporter flushes to the client. */
+  int EXPORT_FETCH_SIZE = 500;
+
+  /** Null filters are ignored. Rows come in database order (no sort, so the first row ships immediately). */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("""
+      select t from Task t
+      where (:status is null or t.status = :status)
+        and (:projectId is null or t.projectId = :projectId)
+        and (:updatedSince is null or t.updatedAt >= :updatedSince)
+      """)
+  Stream<Task> streamForExport(@Param("status") String status,
+                               @Param("projectId") String projectId,
+                               @Param("updatedSince") Instant updatedSince);
+
+  /** id/title/description of every task, for rebuilding the in-memory search index (same streaming rules as above). */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new pt.taskflow.tasks.domain.TaskText(t.id, t.title, t.description) from Task t")
+  Stream<TaskText> streamSearchText();
+
+  /**
+   * PostgreSQL full-text search (schema.sql: search_vector + GIN index idx_task_search).
+   * Every word of the query must match; best ts_rank first, then id, and only rows strictly
+   * after (afterRank, afterId) in that order. First page: afterRank = Float.MAX_VALUE,
+   * afterId = "". Not cached.
+   *
+   * Ranking cannot use an index, and every page has to rank all the rows it orders, so only
+   * the maxCandidates most recent matches are ranked: a common word costs at most
+   * maxCandidates ts_rank calls per page (the planner can walk idx_task_created backwards and
+   * stop there), a rare one only its few matches via the GIN index. The candidates are
+   * chosen the same way on every page, so the keyset stays consistent; a task created
+   * between two pages may push the oldest candidate out of the later one.
+   */
+  @Query(nativeQuery = true, value = """
+      with candidates as (
+        select t.id, t.search_vector
+        from task t
+        where t.search_vector @@ plainto_tsquery('simple', :query)
+        order by t.created_at desc, t.id desc
+        limit :maxCandidates
+      )
+      select c.id as id, ts_rank(c.search_vector, q) as rank
+      from candidates c, plainto_tsquery('simple', :query) q
+      where (ts_rank(c.search_vector, q), c.id) < (:afterRank, :afterId)
+      order by rank desc, c.id desc
+      limit :limit
+      """)
+  List<TaskRank> searchRanked(@Param("query") String query,
+                              @Param("maxCandidates") int maxCandidates,
+                              @Param("afterRank") float afterRank,
+                              @Param("afterId") String afterId,
+                              @Param("limit") int limit);
+
+  /** Sets one task's status. With expectedVersion != null, only if the row still has that version (compare-and-set). */
+  @Transactional
+  @Modifying
+  @Caching(evict = {@CacheEvict(cacheNames = CACHE_TASKS, key = "#p0"),
+                    @CacheEvict(cacheNames = CACHE_TASK_LISTS, allEntries = true)})
+  @Query("""
+      update Task t set t.status = :status, t.updatedAt = :now, t.version = t.version + 1
+      where t.id = :id and (:expectedVersion is null or t.version = :expectedVersion)
+      """)
+  int updateStatus(@Param("id") String id,
+                   @Param("status") String status,
+                   @Param("expectedVersion") Long expectedVersion,
+                   @Param("now") Instant now);
+
+  @Transactional
+  @Modifying
+  @Caching(evict = {@CacheEvict(cacheNames = CACHE_TASKS, allEntries = true),
+                    @CacheEvict(cacheNames = CACHE_TASK_LISTS, allEntries = true)})
+  @Query("""
+      update Task t set t.status = :status, t.updatedAt = :now, t.version = t.version + 1
+      where t.id in :ids
+      """)
+  int updateStatusByIds(@Param("ids") Collection<String> ids,
+                        @Param("status") String status,
+                        @Param("now") Instant now);
+
+  /** Null filters are ignored; callers must pass at least one (see TaskController.updateStatusBulk). */
+  @Transactional
+  @Modifying
+  @Caching(evict = {@CacheEvict(cacheNames = CACHE_TASKS, allEntries = true),
+                    @CacheEvict(cacheNames = CACHE_TASK_LISTS, allEntries = true)})
+  @Query("""
+      update Task t set t.status = :status, t.updatedAt = :now, t.version = t.version + 1
+      where (:projectId is null or t.projectId = :projectId)
+        and (:fromStatus is null or t.status = :fromStatus)
+      """)
+  int updateStatusWhere(@Param("projectId") String projectId,
+                        @Param("fromStatus") String fromStatus,
+                        @Param("status") String status,
+                        @Param("now") Instant now);
 }
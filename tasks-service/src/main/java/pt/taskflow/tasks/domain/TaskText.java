@@ -0,0 +1,7 @@
+package pt.taskflow.tasks.domain;
+
+/**
+ * The searchable columns of a task, streamed (without loading entities) to build the
+ * in-memory full-text index; see InMemoryTaskSearch.
+ */
+public record TaskText(String id, String title, String description) {}
@@ -0,0 +1,220 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous access log (one JSON line per request on the "access" logger, see logback-spring.xml).
+ *
+ * - Request threads only decide whether to log (sampling) and enqueue an Entry into a bounded
+ *   buffer (tasks.access-log.buffer-size); formatting and I/O happen on one "access-log" thread.
+ * - When the buffer is full, drop-policy decides: DROP_NEWEST (default: the new entry is lost),
+ *   DROP_OLDEST (the oldest queued entry makes room) or CALLER_RUNS (written on the request thread).
+ * - Sampling: tasks.access-log.sample-rate (0..1), per route under tasks.access-log.routes
+ *   (Ant patterns matched against the route, e.g. "[/actuator/**]": 0); first match wins.
+ *   5xx responses, exceptions and requests slower than tasks.access-log.slow are always logged.
+ *
+ * Metrics: tasks.accesslog.events{result=written|sampled-out|dropped}, tasks.accesslog.queue.
+ */
+@Component
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLog {
+
+    private static final Logger log = LoggerFactory.getLogger("access");
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+    private static final int BATCH = 256;
+    private static final DateTimeFormatter ISO_SECONDS =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    public enum DropPolicy { DROP_NEWEST, DROP_OLDEST, CALLER_RUNS }
+
+    /** One request, as recorded on the request thread (no formatting yet). */
+    public record Entry(long epochMillis, String method, String uri, String route, int status,
+                        long durationNanos, String corrId, int port, String userAgent, String error) {}
+
+    private final boolean enabled;
+    private final DropPolicy dropPolicy;
+    private final double defaultRate;
+    private final Map<String, Double> routeRates;
+    private final long slowNanos;
+    private final Map<String, Double> rateByRoute = new ConcurrentHashMap<>();
+    private final BlockingQueue<Entry> buffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Counter written;
+    private final Counter sampledOut;
+    private final Counter dropped;
+
+    @Autowired
+    public AccessLog(AccessLogProperties properties, MeterRegistry registry) {
+        this(properties.enabled(), properties.bufferSize(), properties.dropPolicy(), properties.sampleRate(),
+                properties.routes(), properties.slow(), registry);
+    }
+
+    public AccessLog(boolean enabled, int bufferSize, DropPolicy dropPolicy, double sampleRate,
+                     Map<String, Double> routeRates, Duration slow, MeterRegistry registry) {
+        this.enabled = enabled;
+        this.dropPolicy = dropPolicy;
+        this.defaultRate = sampleRate;
+        this.routeRates = new LinkedHashMap<>(routeRates);
+        this.slowNanos = slow.toNanos();
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        this.written = counter(registry, "written");
+        this.sampledOut = counter(registry, "sampled-out");
+        this.dropped = counter(registry, "dropped");
+        Gauge.builder("tasks.accesslog.queue", buffer, BlockingQueue::size)
+                .description("Access log entries waiting to be written").register(registry);
+
+        this.writer = Thread.ofPlatform().name("access-log").daemon().start(this::drain);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("tasks.accesslog.events").tag("result", result).register(registry);
+    }
+
+    /** Cheap pre-check for the caller: false when this request will not be logged anyway. */
+    public boolean wants(String route, int status, long durationNanos, boolean failed) {
+        if (!enabled) return false;
+        if (status >= 500 || failed || durationNanos >= slowNanos) return true;
+        double rate = rate(route);
+        if (rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate)) return true;
+        sampledOut.increment();
+        return false;
+    }
+
+    /** Hands the entry to the writer thread (or applies the drop policy). Never blocks. */
+    public void record(Entry entry) {
+        if (buffer.offer(entry)) return;
+        switch (dropPolicy) {
+            case DROP_NEWEST -> dropped.increment();
+            case DROP_OLDEST -> {
+                if (buffer.poll() != null) dropped.increment();
+                if (!buffer.offer(entry)) dropped.increment();
+            }
+            case CALLER_RUNS -> write(entry, new JsonLine());
+        }
+    }
+
+    private double rate(String route) {
+        if (routeRates.isEmpty() || route == null) return defaultRate;
+        Double cached = rateByRoute.get(route);
+        if (cached != null) return cached;
+        double rate = defaultRate;
+        for (Map.Entry<String, Double> r : routeRates.entrySet()) {
+            if (MATCHER.match(r.getKey(), route)) {
+                rate = r.getValue();
+                break;
+            }
+        }
+        if (rateByRoute.size() < 1000) rateByRoute.put(route, rate); // routes are templates: few of them
+        return rate;
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(BATCH);
+        JsonLine json = new JsonLine();
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                buffer.drainTo(batch, BATCH - 1);
+                for (Entry e : batch) write(e, json);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.warn("{\"accessLogError\":\"{}\"}", e.getClass().getSimpleName());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(Entry e, JsonLine line) {
+        StringBuilder json = line.start(e.epochMillis());
+        field(json, "method", e.method());
+        field(json, "uri", e.uri());
+        field(json, "route", e.route());
+        json.append(",\"status\":").append(e.status());
+        json.append(",\"durationMs\":").append(Math.round(e.durationNanos() / 10_000.0) / 100.0);
+        field(json, "corrId", e.corrId());
+        json.append(",\"port\":").append(e.port());
+        field(json, "ua", e.userAgent());
+        field(json, "error", e.error());
+        json.append('}');
+        log.info(json.toString());
+        written.increment();
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) return;
+        json.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    /** Reused line buffer; the "yyyy-MM-ddTHH:mm:ss" part of ts is formatted once per second. */
+    private static final class JsonLine {
+        private final StringBuilder json = new StringBuilder(256);
+        private long second = Long.MIN_VALUE;
+        private String secondText;
+
+        StringBuilder start(long epochMillis) {
+            long s = Math.floorDiv(epochMillis, 1000);
+            if (s != second) {
+                second = s;
+                secondText = ISO_SECONDS.format(Instant.ofEpochSecond(s));
+            }
+            int millis = (int) Math.floorMod(epochMillis, 1000);
+            json.setLength(0);
+            json.append("{\"ts\":\"").append(secondText).append('.')
+                    .append((char) ('0' + millis / 100)).append((char) ('0' + millis / 10 % 10)).append((char) ('0' + millis % 10))
+                    .append("Z\"");
+            return json;
+        }
+    }
+
+    /** Writes what is still queued, then stops the writer thread. */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(2));
+    }
+}
@@ -0,0 +1,27 @@
+package pt.taskflow.tasks.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * tasks.access-log.* (AccessLog).
+ *
+ * routes keeps the configured order ("[/ant/pattern]": sample rate, first match wins); routes
+ * not listed use sampleRate.
+ */
+@ConfigurationProperties("tasks.access-log")
+public record AccessLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("drop-newest") AccessLog.DropPolicy dropPolicy,
+        @DefaultValue("1.0") double sampleRate,
+        Map<String, Double> routes,
+        @DefaultValue("500ms") Duration slow) {
+
+    public AccessLogProperties {
+        routes = routes == null ? Map.of() : routes;
+    }
+}
@@ -0,0 +1,121 @@
+package pt.taskflow.tasks.infra;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * CacheManager decorator that tells the other replicas about local invalidations.
+ *
+ * - Reads go straight to the local (Caffeine) caches.
+ * - put/putIfAbsent stay local: they are also how a @Cacheable miss fills the cache, and
+ *   publishing those would evict a hot key on every peer each time one replica reads it.
+ *   Writes must therefore evict (see TaskRepository.save), not put.
+ * - evict/clear are applied locally AND published on the CacheInvalidationBus.
+ * - Invalidations coming from peers are applied to the local caches only (never re-published).
+ *
+ * Metrics stay on the wrapped manager's native caches (cache.gets, cache.evictions, ...).
+ */
+public class BroadcastingCacheManager implements CacheManager {
+
+    private final CacheManager local;
+    private final CacheInvalidationBus bus;
+    private final String origin = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public BroadcastingCacheManager(CacheManager local, CacheInvalidationBus bus) {
+        this.local = local;
+        this.bus = bus;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    /** Id this manager publishes its invalidations under; anything else on the bus came from a peer. */
+    public String origin() {
+        return origin;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache target = local.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, n -> new BroadcastingCache(target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return local.getCacheNames();
+    }
+
+    private void onInvalidation(CacheInvalidationBus.Invalidation inv) {
+        if (origin.equals(inv.origin())) return; // our own message, already applied
+        Cache target = local.getCache(inv.cache());
+        if (target == null) return;
+        if (inv.key() == null) target.clear();
+        else target.evict(inv.key());
+    }
+
+    private void publish(String cache, Object key) {
+        bus.publish(new CacheInvalidationBus.Invalidation(origin, cache, key == null ? null : key.toString()));
+    }
+
+    private final class BroadcastingCache implements Cache {
+
+        private final Cache target;
+
+        private BroadcastingCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override public String getName() { return target.getName(); }
+        @Override public Object getNativeCache() { return target.getNativeCache(); }
+        @Override public ValueWrapper get(Object key) { return target.get(key); }
+        @Override public <T> T get(Object key, Class<T> type) { return target.get(key, type); }
+        @Override public <T> T get(Object key, Callable<T> valueLoader) { return target.get(key, valueLoader); }
+        @Override public CompletableFuture<?> retrieve(Object key) { return target.retrieve(key); }
+        @Override public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> loader) {
+            return target.retrieve(key, loader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+            publish(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = target.evictIfPresent(key);
+            publish(getName(), key); // peers may hold it even if we did not
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+            publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean present = target.invalidate();
+            publish(getName(), null);
+            return present;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package pt.taskflow.tasks.infra;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between tasks-service replicas.
+ *
+ * Each replica keeps its own in-process cache (see BroadcastingCacheManager); when one
+ * replica writes, it publishes an Invalidation so the others drop their stale copies.
+ *
+ * Implementations:
+ * - LocalCacheInvalidationBus: in-JVM only (single instance, and the stand-in used in tests).
+ * - HttpCacheInvalidationBus:  fan-out to every registered instance via DiscoveryClient.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * @param origin id of the publishing cache manager (lets it ignore its own messages)
+     * @param cache  cache name
+     * @param key    key to evict, or null to clear the whole cache
+     */
+    record Invalidation(String origin, String cache, String key) {}
+
+    void publish(Invalidation invalidation);
+
+    void subscribe(Consumer<Invalidation> listener);
+}
@@ -0,0 +1,163 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit (gradient style, as in Netflix concurrency-limits' Gradient2).
+ *
+ * How:
+ * - At most limit requests are in flight; the next ones are rejected at once (tryAcquire
+ *   returns null) instead of queueing until they time out.
+ * - Every window-size completed requests, their average latency (short RTT) is compared
+ *   with a slow moving average (long RTT, the "no load" latency):
+ *     gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1)
+ *     newLimit = limit * gradient + sqrt(limit)
+ *   While latency stays within tolerance the limit grows by ~sqrt(limit) per window; once
+ *   requests start queueing (shortRtt up) it shrinks. The change is smoothed (20% of it per
+ *   window). A window with requests that timed out or were dropped downstream cuts the limit
+ *   by 10% at once instead.
+ * - The limit only grows when at least half of it was in use (otherwise the latency says
+ *   nothing about a higher limit), and is kept in [min-limit, max-limit].
+ * - Priorities: a request may only take a permit while in flight < limit * share, so the
+ *   last 10% of the limit is kept for CRITICAL requests and LOW ones get at most half.
+ *
+ * Metrics (tag limiter=name): tasks.concurrency.limit, tasks.concurrency.in-flight and
+ * tasks.concurrency.rejected{priority}.
+ */
+public final class ConcurrencyLimiter {
+
+    public enum Priority {
+        CRITICAL(1.0), NORMAL(0.9), LOW(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    /** How a request that held a permit ended. */
+    public enum Outcome {
+        /** Completed: its latency is a sample. */
+        SUCCESS,
+        /** Timed out or dropped because of load: a sample, and the limit backs off. */
+        DROPPED,
+        /** Not representative (e.g. failed before doing any work): only frees the permit. */
+        IGNORE
+    }
+
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_RTT_ALPHA = 0.05;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int windowSize;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    private volatile double limit;
+
+    // Current window and long RTT: guarded by this
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+    private double longRtt;
+
+    public ConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                              int windowSize, MeterRegistry registry) {
+        if (minLimit < 1 || minLimit > maxLimit) throw new IllegalArgumentException("need 1 <= min-limit <= max-limit");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowSize = Math.max(1, windowSize);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("tasks.concurrency.limit", this, ConcurrencyLimiter::limit).tag("limiter", name)
+                .description("Current adaptive concurrency limit").register(registry);
+        Gauge.builder("tasks.concurrency.in-flight", inFlight, AtomicInteger::get).tag("limiter", name)
+                .description("Requests holding a permit").register(registry);
+        for (Priority p : Priority.values()) {
+            rejected.put(p, Counter.builder("tasks.concurrency.rejected").tag("limiter", name)
+                    .tag("priority", p.name().toLowerCase()).description("Requests shed at the limit").register(registry));
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /** A permit, or null when the limit (for this priority) is reached. Never blocks. */
+    public Permit tryAcquire(Priority priority) {
+        int max = Math.max(1, (int) (limit * priority.share));
+        for (int n = inFlight.get(); n < max; n = inFlight.get()) {
+            if (inFlight.compareAndSet(n, n + 1)) return new Permit(n + 1);
+        }
+        rejected.get(priority).increment();
+        return null;
+    }
+
+    /** One completed request (package-private for tests). */
+    synchronized void sample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        windowDropped |= dropped;
+        if (windowSamples < windowSize) return;
+
+        double shortRtt = Math.max(1, (double) windowRttSum / windowSamples);
+        int maxInFlight = windowMaxInFlight;
+        boolean anyDropped = windowDropped;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+
+        if (longRtt == 0) longRtt = shortRtt;
+        longRtt += LONG_RTT_ALPHA * (shortRtt - longRtt);
+        // Latency well below the long average (e.g. after a slow period): let it catch up sooner
+        if (longRtt / shortRtt > 2) longRtt *= 0.95;
+
+        double current = limit;
+        if (!anyDropped && maxInFlight < current / 2) return; // app-limited: nothing learnt about a higher limit
+
+        double next;
+        if (anyDropped) {
+            next = current * BACKOFF; // not smoothed: timeouts call for less load now
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+            next = current * (1 - SMOOTHING) + (current * gradient + Math.sqrt(current)) * SMOOTHING;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    /** One admitted request; release it exactly once (later calls are ignored). */
+    public final class Permit {
+
+        private final long start = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(Outcome outcome) {
+            if (!released.compareAndSet(false, true)) return;
+            inFlight.decrementAndGet();
+            if (outcome != Outcome.IGNORE) sample(System.nanoTime() - start, inFlightAtStart, outcome == Outcome.DROPPED);
+        }
+    }
+}
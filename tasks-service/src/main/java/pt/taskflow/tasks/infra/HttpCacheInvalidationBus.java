@@ -0,0 +1,68 @@
+package pt.taskflow.tasks.infra;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Cross-instance bus over plain HTTP.
+ *
+ * publish(): POSTs the invalidation to every instance of this service known to the
+ * DiscoveryClient (Eureka, or spring.cloud.discovery.client.simple in dev), including
+ * ourselves: the origin id makes the sender ignore its own copy.
+ * Receiving side: CacheInvalidationController -> deliver().
+ *
+ * Every POST carries the shared secret tasks.cache.invalidation.token in TOKEN_HEADER, and the
+ * receiver rejects requests without it (accepts()). All replicas must be configured with the
+ * same token; there is no default, so http mode does not start without one.
+ *
+ * Best effort and fire-and-forget: a lost message only means a peer serves the old
+ * value until the cache TTL expires.
+ */
+public class HttpCacheInvalidationBus extends LocalCacheInvalidationBus {
+
+    public static final String PATH = "/internal/cache/invalidations";
+    public static final String TOKEN_HEADER = "X-Cache-Invalidation-Token";
+
+    private static final Logger log = LoggerFactory.getLogger(HttpCacheInvalidationBus.class);
+
+    private final DiscoveryClient discovery;
+    private final String serviceId;
+    private final byte[] token;
+    // Plain (not @LoadBalanced) client: we address concrete instances, not the logical name.
+    private final WebClient http = WebClient.create();
+
+    public HttpCacheInvalidationBus(DiscoveryClient discovery, String serviceId, String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("tasks.cache.invalidation.token is required when mode=http");
+        }
+        this.discovery = discovery;
+        this.serviceId = serviceId;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** True if a received request carries our token (constant-time comparison). */
+    public boolean accepts(String presented) {
+        return presented != null && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        deliver(invalidation);
+        for (ServiceInstance instance : discovery.getInstances(serviceId)) {
+            http.post()
+                .uri(instance.getUri() + PATH)
+                .header(TOKEN_HEADER, new String(token, StandardCharsets.UTF_8))
+                .bodyValue(invalidation)
+                .retrieve()
+                .toBodilessEntity()
+                .subscribe(ok -> {}, e -> log.warn("cache invalidation to {} failed: {}",
+                        instance.getUri(), e.getClass().getSimpleName()));
+        }
+    }
+}
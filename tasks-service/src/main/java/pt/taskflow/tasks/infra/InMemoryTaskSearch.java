@@ -0,0 +1,270 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskRepository;
+import pt.taskflow.tasks.domain.TaskText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * TaskSearch without database support (H2 in dev/tests): an inverted index kept in memory.
+ *
+ * - Built from TaskRepository.streamSearchText (id/title/description only, no entities) on
+ *   a background thread started when the app is ready, so a big table does not hold up
+ *   startup; until that first build is done ready() is false (search answers 503 and the
+ *   searchIndex health indicator, part of the readiness group, is OUT_OF_SERVICE). Updated
+ *   by TaskController on create and batch create, including while it is being built.
+ * - Each word maps to a postings list: the documents containing it, in insertion order,
+ *   with the word's weight in that document (title occurrences count 1.0, description
+ *   occurrences 0.4, as ts_rank weighs labels A and B).
+ * - A query walks the postings of its rarest word and seeks (binary search) the others,
+ *   so the work grows with the number of candidates, not with the number of tasks. Hits
+ *   are kept in a bounded heap of the page size.
+ * - Rank: per word, the weight saturated as in BM25 (w * (k1 + 1) / (w + k1)), summed.
+ *   No document frequency term, so ranks (and cursors) do not move as tasks are added.
+ *
+ * Memory is roughly the ids plus one int pair per distinct word per task; the index only
+ * holds ids, the page's tasks are loaded by primary key.
+ *
+ * Writes made by other replicas (or straight to the database) are only seen after a rebuild.
+ */
+public class InMemoryTaskSearch implements TaskSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryTaskSearch.class);
+
+    /** Weight units per occurrence: title 1.0, description 0.4 (ts_rank's default A and B weights). */
+    static final int TITLE_WEIGHT = 5;
+    static final int DESCRIPTION_WEIGHT = 2;
+    private static final float K1 = 1.2f;
+
+    /** Hit order: best rank first, then id descending (same as PostgresTaskSearch). */
+    private static final Comparator<Hit> ORDER =
+            Comparator.comparingDouble((Hit h) -> -h.rank()).thenComparing(Hit::id, Comparator.reverseOrder());
+
+    private final TaskRepository repo;
+    private final TransactionTemplate readOnly;
+    // Searches share the index; adding a task excludes them for the few microseconds it takes.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Not synchronized: the rebuild streams the whole table under it (virtual thread pinning).
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Index index = new Index();
+    private volatile boolean built;
+    private volatile String buildError;
+    /** Tasks indexed while a rebuild is running; replayed into the new index before it is swapped in. */
+    private Queue<TaskText> duringRebuild;
+
+    public InMemoryTaskSearch(TaskRepository repo, PlatformTransactionManager transactions, MeterRegistry registry) {
+        this.repo = repo;
+        this.readOnly = new TransactionTemplate(transactions);
+        this.readOnly.setReadOnly(true);
+        Gauge.builder("tasks.search.index.documents", this, s -> s.index.live)
+                .description("Tasks in the in-memory search index")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Thread.ofPlatform().name("search-index-build").daemon().start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                buildError = e.toString();
+                log.error("task search index build failed; search stays unavailable", e);
+            }
+        });
+    }
+
+    /** True once the first build has been swapped in. */
+    @Override
+    public boolean ready() {
+        return built;
+    }
+
+    /** Why the first build failed, or null. */
+    public String buildError() {
+        return buildError;
+    }
+
+    /** Tasks in the current index. */
+    public int documents() {
+        return index.live;
+    }
+
+    /** Re-reads every task and swaps the new index in one step; searches keep using the old one meanwhile. */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            withWriteLock(() -> duringRebuild = new ConcurrentLinkedQueue<>());
+            Index fresh = new Index();
+            readOnly.executeWithoutResult(tx -> {
+                try (Stream<TaskText> rows = repo.streamSearchText()) {
+                    rows.forEach(fresh::add);
+                }
+            });
+            withWriteLock(() -> {
+                for (TaskText t; (t = duringRebuild.poll()) != null; ) fresh.add(t);
+                duringRebuild = null;
+                index = fresh;
+            });
+            built = true;
+            buildError = null;
+            log.info("task search index rebuilt: {} tasks, {} words", fresh.live, fresh.postings.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void indexed(Task task) {
+        add(new TaskText(task.getId(), task.getTitle(), task.getDescription()));
+    }
+
+    public void add(TaskText text) {
+        withWriteLock(() -> {
+            index.add(text);
+            if (duringRebuild != null) duringRebuild.add(text);
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> search(List<String> terms, After after, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.search(terms, after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String backend() {
+        return "memory";
+    }
+
+    /** Documents ever added are numbered 0, 1, 2...; a re-added task gets a new number and the old one is deleted. */
+    private static final class Index {
+        final Map<String, Postings> postings = new HashMap<>();
+        final Map<String, Integer> docOf = new HashMap<>();
+        final BitSet deleted = new BitSet();
+        String[] ids = new String[1024];
+        int size;
+        int live;
+
+        void add(TaskText t) {
+            Integer previous = docOf.get(t.id());
+            if (previous != null) {
+                deleted.set(previous);
+                live--;
+            }
+            int doc = size++;
+            if (doc == ids.length) ids = Arrays.copyOf(ids, doc * 2);
+            ids[doc] = t.id();
+            docOf.put(t.id(), doc);
+            live++;
+
+            Map<String, Integer> weights = new HashMap<>();
+            for (String term : TaskSearch.terms(t.title())) weights.merge(term, TITLE_WEIGHT, Integer::sum);
+            for (String term : TaskSearch.terms(t.description())) weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+            weights.forEach((term, w) -> postings.computeIfAbsent(term, k -> new Postings()).add(doc, w));
+        }
+
+        List<Hit> search(List<String> terms, After after, int limit) {
+            Postings[] lists = new Postings[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) return List.of(); // a word no task has: nothing matches all
+            }
+            Arrays.sort(lists, Comparator.comparingInt((Postings p) -> p.size));
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, ORDER.reversed()); // worst kept hit on top
+            int[] from = new int[lists.length];
+            Postings rarest = lists[0];
+            candidates:
+            for (int i = 0; i < rarest.size; i++) {
+                int doc = rarest.docs[i];
+                float rank = saturate(rarest.weights[i]);
+                for (int j = 1; j < lists.length; j++) {
+                    int pos = lists[j].seek(doc, from[j]);
+                    if (pos == lists[j].size) break candidates; // docs ascend: no later candidate can match
+                    from[j] = pos;
+                    if (lists[j].docs[pos] != doc) continue candidates;
+                    rank += saturate(lists[j].weights[pos]);
+                }
+                if (deleted.get(doc)) continue;
+                String id = ids[doc];
+                if (after != null && !before(after.rank(), after.id(), rank, id)) continue;
+                if (top.size() == limit) {
+                    Hit worst = top.peek();
+                    if (!before(worst.rank(), worst.id(), rank, id)) continue;
+                    top.poll();
+                }
+                top.add(new Hit(id, rank));
+            }
+            List<Hit> out = new ArrayList<>(top);
+            out.sort(ORDER);
+            return out;
+        }
+
+        /** True if (rank, id) comes after (refRank, refId) in hit order. */
+        private static boolean before(float refRank, String refId, float rank, String id) {
+            return rank < refRank || (rank == refRank && id.compareTo(refId) < 0);
+        }
+
+        private static float saturate(int weight) {
+            float w = (float) weight / TITLE_WEIGHT;
+            return w * (K1 + 1) / (w + K1);
+        }
+    }
+
+    /** Growable parallel arrays (doc, weight), docs ascending since documents are only appended. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size++] = weight;
+        }
+
+        /** Index of the first doc >= target, searching from position from; size if none. */
+        int seek(int target, int from) {
+            int pos = Arrays.binarySearch(docs, from, size, target);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package pt.taskflow.tasks.infra;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+import pt.taskflow.tasks.config.MetricsConfig;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Human-readable view of the latency timers (GET /diagnostics/latency), read from the same
+ * MeterRegistry that /actuator/prometheus scrapes.
+ *
+ * - endpoints:  http.server.requests, one row per method/uri/status
+ * - repository: spring.data.repository.invocations, one row per query method
+ * - outbound:   http.client.requests (one sample per attempt, so retries show up here),
+ *               plus the Resilience4j retry counts, timeouts and circuit breaker state, and
+ *               the hedges sent/won/skipped (OutboundHedging) and the response cache results
+ *               (OutboundResponseCache)
+ * - pools:      reactor.netty.connection.provider.*, one row per pool and remote address:
+ *               connections in use/idle/max, requests waiting for one, and the acquire time
+ *
+ * Percentiles are the client-side ones (management.metrics.distribution.percentiles), over a
+ * sliding window of the last minutes; Prometheus computes its own from the histogram buckets.
+ */
+@Component
+public class LatencyReport {
+
+    private final MeterRegistry registry;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final RetryRegistry retries;
+    private final MetricsConfig.LocalPortMeterFilter localPort;
+
+    public LatencyReport(MeterRegistry registry,
+                         CircuitBreakerRegistry circuitBreakers,
+                         RetryRegistry retries,
+                         MetricsConfig.LocalPortMeterFilter localPort) {
+        this.registry = registry;
+        this.circuitBreakers = circuitBreakers;
+        this.retries = retries;
+        this.localPort = localPort;
+    }
+
+    public Map<String, Object> summary() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put(MetricsConfig.LOCAL_PORT_TAG, localPort.port());
+        out.put("endpoints", rows("http.server.requests", "method", "uri", "status"));
+        out.put("repository", rows("spring.data.repository.invocations", "repository", "method", "state"));
+
+        Map<String, Object> outbound = new LinkedHashMap<>();
+        outbound.put("attempts", rows("http.client.requests", "method", "uri", "status"));
+        Map<String, Object> resilience = new TreeMap<>();
+        for (Retry r : retries.getAllRetries()) resilience.put(r.getName(), resilience(r));
+        outbound.put("resilience", resilience);
+        Map<String, Object> hedges = new LinkedHashMap<>();
+        hedges.put("sent", count("tasks.outbound.hedge.sent"));
+        hedges.put("won", count("tasks.outbound.hedge.won"));
+        hedges.put("skipped", count("tasks.outbound.hedge.skipped"));
+        outbound.put("hedges", hedges);
+
+        Map<String, Object> cache = new LinkedHashMap<>();
+        for (String result : List.of("fresh", "stale", "miss", "coalesced"))
+            cache.put(result, count("tasks.outbound.cache", "result", result));
+        cache.put("lastKnownGood", count("tasks.outbound.cache.fallback", "result", "last-known-good"));
+        outbound.put("cache", cache);
+        out.put("outbound", outbound);
+        out.put("pools", pools());
+        return out;
+    }
+
+    private Map<String, Object> resilience(Retry retry) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        Retry.Metrics rm = retry.getMetrics();
+        m.put("successfulWithoutRetry", rm.getNumberOfSuccessfulCallsWithoutRetryAttempt());
+        m.put("successfulWithRetry", rm.getNumberOfSuccessfulCallsWithRetryAttempt());
+        m.put("failedWithRetry", rm.getNumberOfFailedCallsWithRetryAttempt());
+        m.put("failedWithoutRetry", rm.getNumberOfFailedCallsWithoutRetryAttempt());
+        m.put("timeouts", (long) registry.find("resilience4j.timelimiter.calls")
+                .tag("name", retry.getName()).tag("kind", "timeout")
+                .counters().stream().mapToDouble(Counter::count).sum());
+        circuitBreakers.find(retry.getName()).ifPresent(cb -> {
+            CircuitBreaker.Metrics cm = cb.getMetrics();
+            m.put("circuitState", cb.getState().name());
+            m.put("failureRatePercent", cm.getFailureRate()); // -1 until minimum-number-of-calls
+            m.put("bufferedCalls", cm.getNumberOfBufferedCalls());
+            m.put("notPermittedCalls", cm.getNumberOfNotPermittedCalls());
+        });
+        return m;
+    }
+
+    private static final String POOL = "reactor.netty.connection.provider.";
+
+    /** Connection pool utilization (OutboundTransports), keyed by pool name and remote address. */
+    private List<Map<String, Object>> pools() {
+        Map<List<String>, Map<String, Object>> pools = new TreeMap<>(Comparator.comparing(Object::toString));
+        for (String gauge : List.of("active.connections", "idle.connections", "total.connections",
+                "max.connections", "pending.connections", "max.pending.connections")) {
+            for (Gauge g : registry.find(POOL + gauge).gauges()) {
+                Map<String, Object> pool = pools.computeIfAbsent(poolKey(g.getId()), LatencyReport::poolRow);
+                pool.put(gauge.replace(".connections", "").replace(".", "-"), (long) g.value());
+            }
+        }
+        for (Timer t : registry.find(POOL + "pending.connections.time").timers()) {
+            Map<String, Object> pool = pools.computeIfAbsent(poolKey(t.getId()), LatencyReport::poolRow);
+            // only acquires that had to wait are timed; status=ERROR are the pending-acquire timeouts/rejections
+            if ("ERROR".equals(t.getId().getTag("status"))) pool.put("acquireFailed", t.count());
+            else pool.put("acquire", row(t));
+        }
+        return List.copyOf(pools.values());
+    }
+
+    private static List<String> poolKey(Meter.Id id) {
+        return List.of(String.valueOf(id.getTag("name")), String.valueOf(id.getTag("remote.address")));
+    }
+
+    private static Map<String, Object> poolRow(List<String> key) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", key.get(0));
+        row.put("remoteAddress", key.get(1));
+        return row;
+    }
+
+    private long count(String counter, String... tags) {
+        return (long) registry.find(counter).tags(tags).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    /** One row per timer of that name, busiest first. */
+    private List<Map<String, Object>> rows(String name, String... tags) {
+        return registry.find(name).timers().stream()
+                .filter(t -> t.count() > 0)
+                .sorted(Comparator.comparingLong(Timer::count).reversed())
+                .map(t -> row(t, tags))
+                .toList();
+    }
+
+    private static Map<String, Object> row(Timer timer, String... tags) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String tag : tags) row.put(tag, timer.getId().getTag(tag));
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        row.put("count", snapshot.count());
+        row.put("meanMs", ms(snapshot.mean(TimeUnit.MILLISECONDS)));
+        row.put("maxMs", ms(snapshot.max(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile p : snapshot.percentileValues())
+            row.put("p" + BigDecimal.valueOf(p.percentile() * 100).stripTrailingZeros().toPlainString() + "Ms", ms(p.value(TimeUnit.MILLISECONDS)));
+        return row;
+    }
+
+    private static double ms(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,31 @@
+package pt.taskflow.tasks.infra;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM bus: delivers synchronously to every subscriber of this instance.
+ *
+ * Enough for a single replica (TTL bounds staleness elsewhere). In tests, two
+ * BroadcastingCacheManagers sharing one LocalCacheInvalidationBus behave like two replicas.
+ */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        deliver(invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /** Hands an invalidation (local or received from a peer) to all subscribers. */
+    public void deliver(Invalidation invalidation) {
+        for (Consumer<Invalidation> l : listeners) l.accept(invalidation);
+    }
+}
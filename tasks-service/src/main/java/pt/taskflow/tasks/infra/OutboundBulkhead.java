@@ -0,0 +1,62 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter.Outcome;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adaptive bulkhead for OutboundClient (demo.outbound.bulkhead.*).
+ *
+ * - Same ConcurrencyLimiter as the inbound ConcurrencyLimitFilter (limiter=outbound): at
+ *   most limit calls to the downstream are in flight; the limit follows the downstream's
+ *   latency, so a slow downstream gets fewer concurrent calls instead of tying up every caller.
+ * - A call over the limit fails at once with OutboundBulkheadFullException, before any
+ *   request is sent; OutboundClient's fallback then answers (last good response or the
+ *   degraded JSON). The exception is not retried and not counted by the circuit breaker
+ *   (resilience4j ignore-exceptions in config-repo/tasks-service.yml).
+ * - Cancelled calls (the TimeLimiter's timeout) back the limit off. Only calls that got a
+ *   response (a body, or an error status: WebClientResponseException) are latency samples;
+ *   errors without one (connection refused/reset, pool acquire timeout: WebClientRequestException
+ *   and the like) only free the permit, or a downstream that fails fast would look fast.
+ *
+ * Lazy, like OutboundClient (its only user).
+ */
+@Component
+@Lazy
+public class OutboundBulkhead {
+
+    private final boolean enabled;
+    private final ConcurrencyLimiter limiter;
+
+    public OutboundBulkhead(MeterRegistry registry,
+                            @Value("${demo.outbound.bulkhead.enabled:true}") boolean enabled,
+                            @Value("${demo.outbound.bulkhead.initial-limit:20}") int initialLimit,
+                            @Value("${demo.outbound.bulkhead.min-limit:2}") int minLimit,
+                            @Value("${demo.outbound.bulkhead.max-limit:200}") int maxLimit,
+                            @Value("${demo.outbound.bulkhead.tolerance:2.0}") double tolerance,
+                            @Value("${demo.outbound.bulkhead.window-size:20}") int windowSize) {
+        this.enabled = enabled;
+        this.limiter = new ConcurrencyLimiter("outbound", initialLimit, minLimit, maxLimit, tolerance, windowSize, registry);
+    }
+
+    public ConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    /** call, subscribed only if a permit is free; the permit is released when it ends. */
+    public <T> Mono<T> wrap(Mono<T> call) {
+        if (!enabled) return call;
+        return Mono.defer(() -> {
+            ConcurrencyLimiter.Permit permit = limiter.tryAcquire(ConcurrencyLimiter.Priority.NORMAL);
+            if (permit == null) return Mono.error(new OutboundBulkheadFullException(limiter.limit()));
+            return call
+                    .doOnSuccess(v -> permit.release(Outcome.SUCCESS))
+                    .doOnError(e -> permit.release(e instanceof WebClientResponseException ? Outcome.SUCCESS : Outcome.IGNORE))
+                    .doOnCancel(() -> permit.release(Outcome.DROPPED));
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package pt.taskflow.tasks.infra;
+
+/**
+ * OutboundBulkhead rejected a call: limit calls were already in flight. No request was sent.
+ */
+public class OutboundBulkheadFullException extends RuntimeException {
+
+    public OutboundBulkheadFullException(int limit) {
+        super("Outbound bulkhead full (limit " + limit + ")", null, false, false);
+    }
+}
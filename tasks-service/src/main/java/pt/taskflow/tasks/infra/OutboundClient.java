@@ -3,11 +3,20 @@ package pt.taskflow.tasks.infra;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.DeferringLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import pt.taskflow.tasks.config.CorrelationIds;
 import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.util.Optional;
+
 /**
  * Cliente HTTP "de saída" usado para demonstrar padrões de resiliência.
  *
@@ -17,20 +26,76 @@ import reactor.core.publisher.Mono;
  *
  * - O baseUrl é configurável (Config Server) e por defeito aponta para "http://tasks-service",
  *   ou seja, usa Discovery + LoadBalancer (round-robin entre instâncias registadas).
+ *
+ * - Com demo.outbound.hedge.enabled=true, cada chamada é "hedged" (ver OutboundHedging):
+ *   se a instância escolhida demorar, a mesma chamada vai a OUTRA instância e ganha a primeira
+ *   resposta. Aí escolhemos nós as instâncias, por isso o pedido usa um WebClient direto.
+ *
+ * - Cada resposta bem-sucedida fica no OutboundResponseCache (chave = path + query):
+ *   o fallback devolve a última resposta boa em vez do JSON "degradado", e quem chama pode
+ *   servir do cache (fresh/stale) antes de chegar aqui (ver DiagnosticsController).
+ *
+ * - Bulkhead adaptativo (OutboundBulkhead, demo.outbound.bulkhead.*): no máximo 'limit' chamadas
+ *   em curso, limite que desce quando o destino fica lento. Acima dele a chamada falha logo
+ *   (OutboundBulkheadFullException, sem pedido enviado) e responde o fallback.
+ *
+ * - Transporte: pool de ligações próprio do serviço (OutboundTransports), configurado em
+ *   demo.outbound.http.* (tamanho, fila de espera, idle, timeouts, compressão, HTTP/2).
+ *
+ * - @Lazy: os WebClients e o pool só são criados na primeira chamada (DiagnosticsController),
+ *   fora do arranque.
  */
 @Component
+@Lazy
 public class OutboundClient {
 
+    private static final String DELAY_PATH = "/diagnostics/simulate/delay?ms={ms}&fail={fail}";
+    private static final String INSTANCE = "{scheme}://{host}:{port}";
+
     private final WebClient webClient;
+    private final WebClient directClient;
+    private final String serviceId;
+    private final OutboundHedging hedging;
+    private final OutboundResponseCache cache;
+    private final OutboundBulkhead bulkhead;
 
     /**
      * @param builder  WebClient.Builder com @LoadBalanced (ver WebClientConfig)
      * @param baseUrl  URL base das chamadas de saída (injetado por configuração externa)
+     * @param hedging  política de hedging (null = desligada)
+     * @param cache    cache de respostas (null = sem cache; o fallback devolve sempre o JSON degradado)
+     * @param transports pools de ligações por serviço (null = o conector do builder)
+     * @param bulkhead limite de chamadas em curso (null = sem limite)
      */
+    @Autowired
     public OutboundClient(WebClient.Builder builder,
-                          @Value("${demo.outbound.base-url}") String baseUrl) {
+                          @Value("${demo.outbound.base-url}") String baseUrl,
+                          OutboundHedging hedging,
+                          OutboundResponseCache cache,
+                          OutboundTransports transports,
+                          OutboundBulkhead bulkhead) {
+        this.serviceId = URI.create(baseUrl).getHost();
+        WebClient.Builder service = builder.clone();
+        if (transports != null) service.clientConnector(transports.connector(serviceId));
         // Definimos aqui o baseUrl concreto, para manter o builder genérico na config.
-        this.webClient = builder.baseUrl(baseUrl).build();
+        this.webClient = service.clone().baseUrl(baseUrl).build();
+        // Mesmo builder (codecs, métricas, pool) sem o filtro do LoadBalancer: URLs de instâncias concretas.
+        this.directClient = service.clone()
+                .filters(filters -> filters.removeIf(f -> f instanceof LoadBalancedExchangeFilterFunction
+                        || f instanceof DeferringLoadBalancerExchangeFilterFunction))
+                .build();
+        this.hedging = hedging;
+        this.cache = cache;
+        this.bulkhead = bulkhead;
+    }
+
+    public OutboundClient(WebClient.Builder builder, String baseUrl) {
+        this(builder, baseUrl, null, null, null, null);
+    }
+
+    /** Chave da chamada no OutboundResponseCache: path + query do pedido (igual em todas as instâncias). */
+    public static String cacheKey(int ms, boolean fail) {
+        return UriComponentsBuilder.fromUriString(DELAY_PATH).buildAndExpand(ms, fail).toUriString();
     }
 
     /**
@@ -48,12 +113,28 @@ public class OutboundClient {
     @Retry(name = "externalClient")
     @CircuitBreaker(name = "externalClient", fallbackMethod = "fallback")
     public Mono<String> callDelayed(int ms, boolean fail) {
+        // Dentro do TimeLimiter/Retry/CircuitBreaker: cada tentativa ocupa (e liberta) uma vaga do bulkhead.
+        Mono<String> call = bulkhead == null ? request(ms, fail) : bulkhead.wrap(request(ms, fail));
+        // Só respostas reais vão para o cache (nunca o fallback).
+        if (cache != null) call = call.doOnNext(body -> cache.put(cacheKey(ms, fail), body));
+        // corrId para o header X-Correlation-Id, se quem chamou não o pôs já no Context
+        return call.contextWrite(CorrelationIds::fromMdc);
+    }
+
+    private Mono<String> request(int ms, boolean fail) {
+        if (hedging != null && hedging.enabled()) {
+            // O hedge conta como UMA tentativa para o Retry/CircuitBreaker e cabe no mesmo TimeLimiter.
+            // Instância como variáveis do template: o uri da métrica é o mesmo em todas as instâncias
+            return hedging.call(serviceId, instance -> directClient.get()
+                    .uri(INSTANCE + DELAY_PATH, instance.getUri().getScheme(), instance.getHost(), instance.getPort(), ms, fail)
+                    .retrieve()
+                    .bodyToMono(String.class));
+        }
         return webClient.get()
                 // Chamamos o NOSSO endpoint de simulação: /diagnostics/simulate/delay
-                .uri(uri -> uri.path("/diagnostics/simulate/delay")
-                        .queryParam("ms", ms)      // tempo de atraso que queremos simular
-                        .queryParam("fail", fail)  // se true, responderá 500
-                        .build())
+                // ms = atraso a simular; fail=true -> responde 500.
+                // (URI em template: a métrica http.client.requests agrupa pelo template, não por cada ms/fail)
+                .uri(DELAY_PATH, ms, fail)
                 .retrieve()
                 // bodyToMono(String): queremos o corpo tal e qual (JSON de teste)
                 .bodyToMono(String.class);
@@ -64,13 +145,18 @@ public class OutboundClient {
      * - o TimeLimiter atinge timeout,
      * - Retry esgota tentativas,
      * - CircuitBreaker está aberto,
+     * - o OutboundBulkhead está cheio,
      * - ou ocorre qualquer exceção durante a chamada.
      *
      * Assinatura: mesmos parâmetros + Throwable no fim (exigido pelo Resilience4j).
      */
     private Mono<String> fallback(int ms, boolean fail, Throwable ex) {
-        // Resposta "degradada", mas rápida e previsível para o cliente.
-        // Em sistemas reais: responderíamos com dados em cache, defaults ou mensagem clara.
+        // 1) Última resposta boa deste pedido (last-known-good), se ainda estiver no cache.
+        if (cache != null) {
+            Optional<String> lastKnownGood = cache.lastKnownGood(cacheKey(ms, fail));
+            if (lastKnownGood.isPresent()) return Mono.just(lastKnownGood.get());
+        }
+        // 2) Resposta "degradada", mas rápida e previsível para o cliente.
         return Mono.just("{\"source\":\"fallback\",\"reason\":\"" + ex.getClass().getSimpleName() + "\"}");
     }
 }
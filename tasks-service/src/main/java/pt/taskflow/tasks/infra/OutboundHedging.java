@@ -0,0 +1,204 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Hedged requests for OutboundClient (opt-in: demo.outbound.hedge.enabled).
+ *
+ * How:
+ * - The primary request goes to an instance chosen by the Spring Cloud LoadBalancer.
+ * - If it has not answered after the hedge delay, the same request is sent to a different
+ *   instance; the first success wins and the other request is cancelled.
+ *   (A primary that fails before the delay is hedged at once, as gRPC hedging does.)
+ * - Delay: fixed (delay), or the observed latency percentile of primaries (percentile,
+ *   e.g. 0.95) once min-samples have been seen, never below delay. A primary cancelled
+ *   because the hedge won (or the caller gave up) is recorded with the time it had run so
+ *   far, a lower bound of its real latency: recording only the primaries that finished
+ *   would leave out exactly the slow ones and pull the percentile down.
+ * - Budget: each call earns budget-ratio of a hedge, up to budget-max saved up; a hedge
+ *   spends one. So hedges stay below ~budget-ratio of calls even when every replica is slow,
+ *   instead of doubling the load exactly when the service is struggling.
+ *
+ * Metrics: tasks.outbound.hedge.sent, .won (the hedge answered first) and
+ * .skipped{reason=budget|no-instance}; tasks.outbound.hedge.primary is the latency of the
+ * primaries (successful or cancelled) the delay is derived from.
+ *
+ * Lazy, like OutboundClient (its only user): created on the first outbound call.
+ */
+@Component
+@Lazy
+public class OutboundHedging {
+
+    private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancers;
+    private final boolean enabled;
+    private final Duration delay;
+    private final double percentile;
+    private final long minSamples;
+    private final Budget budget;
+
+    private final Timer primaryLatency;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter skippedBudget;
+    private final Counter skippedNoInstance;
+
+    public OutboundHedging(ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancers,
+                           MeterRegistry registry,
+                           @Value("${demo.outbound.hedge.enabled:false}") boolean enabled,
+                           @Value("${demo.outbound.hedge.delay:200ms}") Duration delay,
+                           @Value("${demo.outbound.hedge.percentile:0}") double percentile,
+                           @Value("${demo.outbound.hedge.min-samples:20}") long minSamples,
+                           @Value("${demo.outbound.hedge.budget-ratio:0.1}") double budgetRatio,
+                           @Value("${demo.outbound.hedge.budget-max:10}") int budgetMax) {
+        this.loadBalancers = loadBalancers;
+        this.enabled = enabled;
+        this.delay = delay;
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.budget = new Budget(budgetRatio, budgetMax);
+
+        Timer.Builder latency = Timer.builder("tasks.outbound.hedge.primary")
+                .description("Latency of primary requests, cancelled ones up to the cancel (source of the hedge delay)");
+        if (percentile > 0) latency.publishPercentiles(percentile);
+        this.primaryLatency = latency.register(registry);
+        this.sent = Counter.builder("tasks.outbound.hedge.sent").register(registry);
+        this.won = Counter.builder("tasks.outbound.hedge.won").register(registry);
+        this.skippedBudget = Counter.builder("tasks.outbound.hedge.skipped").tag("reason", "budget").register(registry);
+        this.skippedNoInstance = Counter.builder("tasks.outbound.hedge.skipped").tag("reason", "no-instance").register(registry);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs request against one instance of serviceId and, if needed, a hedge against another.
+     * Fails with the primary's error when neither succeeds.
+     */
+    public <T> Mono<T> call(String serviceId, Function<ServiceInstance, Mono<T>> request) {
+        ReactiveLoadBalancer<ServiceInstance> lb = loadBalancers.getInstance(serviceId);
+        if (lb == null) return Mono.error(new IllegalStateException("No load balancer for " + serviceId));
+        return choose(lb).switchIfEmpty(Mono.error(() -> new IllegalStateException("No instance of " + serviceId)))
+                .flatMap(primary -> race(lb, primary, request));
+    }
+
+    private <T> Mono<T> race(ReactiveLoadBalancer<ServiceInstance> lb, ServiceInstance primary,
+                             Function<ServiceInstance, Mono<T>> request) {
+        budget.deposit();
+        Sinks.Empty<Void> primaryFailed = Sinks.empty();
+
+        Mono<Tuple2<Boolean, T>> first = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request.apply(primary)
+                    .doOnNext(v -> primaryLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    // Lost the race (or timed out upstream): it took at least this long
+                    .doOnCancel(() -> primaryLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> primaryFailed.tryEmitEmpty());
+        }).map(v -> Tuples.of(false, v));
+
+        Mono<Tuple2<Boolean, T>> hedge = Mono.firstWithSignal(Mono.delay(hedgeDelay()).then(), primaryFailed.asMono())
+                .then(Mono.defer(() -> {
+                    if (!budget.tryWithdraw()) {
+                        skippedBudget.increment();
+                        return Mono.empty();
+                    }
+                    return chooseOther(lb, primary, 3)
+                            .switchIfEmpty(Mono.fromRunnable(() -> {
+                                budget.refund();
+                                skippedNoInstance.increment();
+                            }))
+                            .flatMap(other -> {
+                                sent.increment();
+                                return request.apply(other);
+                            });
+                }))
+                .map(v -> Tuples.of(true, v));
+
+        // First value wins and cancels the other; errors only surface when both sides gave up.
+        return Mono.firstWithValue(first, hedge)
+                .doOnNext(r -> {
+                    if (r.getT1()) won.increment();
+                })
+                .map(Tuple2::getT2)
+                .onErrorMap(NoSuchElementException.class, e -> primaryCause(e));
+    }
+
+    /** firstWithValue reports "no value", caused by the sources' errors (in subscription order): keep the primary's. */
+    private static Throwable primaryCause(NoSuchElementException e) {
+        return e.getCause() != null ? Exceptions.unwrapMultiple(e.getCause()).get(0) : e;
+    }
+
+    private Duration hedgeDelay() {
+        if (percentile <= 0 || primaryLatency.count() < minSamples) return delay;
+        for (ValueAtPercentile p : primaryLatency.takeSnapshot().percentileValues()) {
+            Duration observed = Duration.ofNanos((long) p.value(TimeUnit.NANOSECONDS));
+            return observed.compareTo(delay) > 0 ? observed : delay;
+        }
+        return delay;
+    }
+
+    private static Mono<ServiceInstance> choose(ReactiveLoadBalancer<ServiceInstance> lb) {
+        return Mono.from(lb.choose()).filter(Response::hasServer).map(Response::getServer);
+    }
+
+    /** Asks the load balancer again (round-robin moves on) until it gives another instance. */
+    private static Mono<ServiceInstance> chooseOther(ReactiveLoadBalancer<ServiceInstance> lb, ServiceInstance not, int tries) {
+        if (tries == 0) return Mono.empty();
+        return choose(lb).flatMap(i -> sameInstance(i, not) ? chooseOther(lb, not, tries - 1) : Mono.just(i));
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        return Objects.equals(a.getUri(), b.getUri());
+    }
+
+    /** Token bucket in thousandths of a hedge. */
+    static final class Budget {
+
+        private static final long HEDGE = 1000;
+
+        private final long perCall;
+        private final long max;
+        private final AtomicLong balance;
+
+        Budget(double ratio, int maxHedges) {
+            this.perCall = Math.round(ratio * HEDGE);
+            this.max = maxHedges * HEDGE;
+            this.balance = new AtomicLong(max);
+        }
+
+        void deposit() {
+            balance.accumulateAndGet(perCall, (b, d) -> Math.min(max, b + d));
+        }
+
+        boolean tryWithdraw() {
+            for (long b = balance.get(); b >= HEDGE; b = balance.get())
+                if (balance.compareAndSet(b, b - HEDGE)) return true;
+            return false;
+        }
+
+        void refund() {
+            balance.accumulateAndGet(HEDGE, (b, d) -> Math.min(max, b + d));
+        }
+    }
+}
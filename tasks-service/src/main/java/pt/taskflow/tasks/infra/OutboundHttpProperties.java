@@ -0,0 +1,60 @@
+package pt.taskflow.tasks.infra;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNullElse;
+
+/**
+ * demo.outbound.http.* (OutboundTransports); see OutboundTransports.Settings for each key.
+ *
+ * services.<serviceId>.* overrides any of them for one service; keys left out there keep the
+ * global value.
+ */
+@ConfigurationProperties("demo.outbound.http")
+public record OutboundHttpProperties(
+        @DefaultValue("100") int maxConnections,
+        @DefaultValue("1000") int pendingAcquireMax,
+        @DefaultValue("2s") Duration pendingAcquireTimeout,
+        @DefaultValue("20s") Duration maxIdleTime,
+        @DefaultValue("5m") Duration maxLifeTime,
+        @DefaultValue("30s") Duration evictInterval,
+        @DefaultValue("true") boolean keepAlive,
+        @DefaultValue("1s") Duration connectTimeout,
+        @DefaultValue("0s") Duration responseTimeout,
+        @DefaultValue("true") boolean compression,
+        @DefaultValue("HTTP11") HttpProtocol[] protocols,
+        Map<String, Service> services) {
+
+    public OutboundHttpProperties {
+        services = services == null ? Map.of() : services;
+    }
+
+    /** Per-service overrides; null = the global value. */
+    public record Service(Integer maxConnections, Integer pendingAcquireMax, Duration pendingAcquireTimeout,
+                          Duration maxIdleTime, Duration maxLifeTime, Duration evictInterval,
+                          Boolean keepAlive, Duration connectTimeout, Duration responseTimeout,
+                          Boolean compression, HttpProtocol[] protocols) {}
+
+    /** The settings of serviceId: its overrides over the global values. */
+    public OutboundTransports.Settings settings(String serviceId) {
+        Service s = services.getOrDefault(serviceId, new Service(null, null, null, null, null, null,
+                null, null, null, null, null));
+        return new OutboundTransports.Settings(
+                requireNonNullElse(s.maxConnections(), maxConnections),
+                requireNonNullElse(s.pendingAcquireMax(), pendingAcquireMax),
+                requireNonNullElse(s.pendingAcquireTimeout(), pendingAcquireTimeout),
+                requireNonNullElse(s.maxIdleTime(), maxIdleTime),
+                requireNonNullElse(s.maxLifeTime(), maxLifeTime),
+                requireNonNullElse(s.evictInterval(), evictInterval),
+                requireNonNullElse(s.keepAlive(), keepAlive),
+                requireNonNullElse(s.connectTimeout(), connectTimeout),
+                requireNonNullElse(s.responseTimeout(), responseTimeout),
+                requireNonNullElse(s.compression(), compression),
+                requireNonNullElse(s.protocols(), protocols));
+    }
+}
@@ -0,0 +1,131 @@
+package pt.taskflow.tasks.infra;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache of outbound responses, keyed by request (path + query).
+ *
+ * - fresh (younger than ttl): served without calling upstream;
+ * - stale (younger than ttl + stale): served at once, and refreshed in the background;
+ * - miss: upstream call. Concurrent identical misses/refreshes share one call (coalescing).
+ * - last-known-good: entries are kept for keep, for OutboundClient.fallback to answer with
+ *   while upstream fails or the circuit is open.
+ *
+ * Only real upstream answers are stored (OutboundClient.callDelayed calls put), never
+ * fallbacks, so a fallback cannot make old data look fresh.
+ *
+ * Metrics: tasks.outbound.cache{result=fresh|stale|miss|coalesced} and
+ * tasks.outbound.cache.fallback{result=last-known-good|none}.
+ * Lazy, like OutboundClient: created (and its meters registered) on the first outbound call.
+ */
+@Component
+@Lazy
+public class OutboundResponseCache {
+
+    private record Entry(String body, long storedAtNanos) {
+        Duration age() {
+            return Duration.ofNanos(System.nanoTime() - storedAtNanos);
+        }
+    }
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration serveStale;
+    private final Cache<String, Entry> entries;
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter fresh;
+    private final Counter stale;
+    private final Counter miss;
+    private final Counter coalesced;
+    private final Counter fallbackHit;
+    private final Counter fallbackMiss;
+
+    public OutboundResponseCache(MeterRegistry registry,
+                                 @Value("${demo.outbound.cache.enabled:true}") boolean enabled,
+                                 @Value("${demo.outbound.cache.ttl:5s}") Duration ttl,
+                                 @Value("${demo.outbound.cache.stale:60s}") Duration stale,
+                                 @Value("${demo.outbound.cache.keep:10m}") Duration keep,
+                                 @Value("${demo.outbound.cache.max-size:1000}") long maxSize) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.serveStale = ttl.plus(stale);
+        this.entries = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(keep).build();
+
+        this.fresh = counter(registry, "tasks.outbound.cache", "fresh");
+        this.stale = counter(registry, "tasks.outbound.cache", "stale");
+        this.miss = counter(registry, "tasks.outbound.cache", "miss");
+        this.coalesced = counter(registry, "tasks.outbound.cache", "coalesced");
+        this.fallbackHit = counter(registry, "tasks.outbound.cache.fallback", "last-known-good");
+        this.fallbackMiss = counter(registry, "tasks.outbound.cache.fallback", "none");
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder(name).tag("result", result).register(registry);
+    }
+
+    /**
+     * Response for key: from the cache when fresh or stale (a stale hit refreshes in the
+     * background), otherwise from upstream, shared with any identical call in flight.
+     * upstream should be the resilient call (OutboundClient.callDelayed through its proxy).
+     */
+    public Mono<String> get(String key, Supplier<Mono<String>> upstream) {
+        if (!enabled) return upstream.get();
+        return Mono.deferContextual(ctx -> {
+            Entry e = entries.getIfPresent(key);
+            if (e != null) {
+                Duration age = e.age();
+                if (age.compareTo(ttl) < 0) {
+                    fresh.increment();
+                    return Mono.just(e.body());
+                }
+                if (age.compareTo(serveStale) < 0) {
+                    stale.increment();
+                    // refresh with this caller's Context (corrId); errors already handled by the fallback
+                    load(key, upstream).contextWrite(ctx).subscribe(body -> {}, error -> {});
+                    return Mono.just(e.body());
+                }
+            }
+            miss.increment();
+            return load(key, upstream);
+        });
+    }
+
+    /** One upstream call per key at a time; callers arriving meanwhile get the same result. */
+    private Mono<String> load(String key, Supplier<Mono<String>> upstream) {
+        boolean[] started = {false};
+        Mono<String> call = inFlight.computeIfAbsent(key, k -> {
+            started[0] = true;
+            return upstream.get()
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache(); // not cancelled when the first caller goes away: the others (and the cache) still want it
+        });
+        if (!started[0]) coalesced.increment();
+        return call;
+    }
+
+    /** Stores a real upstream answer (never a fallback). */
+    public void put(String key, String body) {
+        if (enabled) entries.put(key, new Entry(body, System.nanoTime()));
+    }
+
+    /** Newest stored answer for key, whatever its age (up to keep), for fallbacks. */
+    public Optional<String> lastKnownGood(String key) {
+        Entry e = enabled ? entries.getIfPresent(key) : null;
+        (e != null ? fallbackHit : fallbackMiss).increment();
+        return Optional.ofNullable(e).map(Entry::body);
+    }
+}
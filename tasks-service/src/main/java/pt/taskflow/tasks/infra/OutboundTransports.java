@@ -0,0 +1,102 @@
+package pt.taskflow.tasks.infra;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactor Netty transports of the outbound WebClients: one connection pool per service
+ * (connector(serviceId)), configured from demo.outbound.http.* (OutboundHttpProperties) instead
+ * of Reactor Netty's defaults (500 connections per host, 45s pending-acquire timeout, connections
+ * never closed for idleness or age, 30s connect timeout). This bounds failure, not throughput:
+ * a full pool fails in seconds rather than 45s, and idle connections are dropped before the
+ * server closes them under us. OutboundTransportBenchmark shows the same ok/s as the defaults.
+ *
+ * Every setting can be overridden per service under demo.outbound.http.services.<serviceId>.*,
+ * e.g. demo.outbound.http.services.tasks-service.max-connections=50.
+ *
+ * Pools publish reactor.netty.connection.provider.* (tag name = serviceId): total/active/idle/
+ * max connections (utilization), pending/max.pending connections (acquire queue) and
+ * pending.connections.time (acquire latency).
+ */
+@Component
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundTransports implements DisposableBean {
+
+    public static final String DEFAULT = "default";
+
+    private final OutboundHttpProperties properties;
+    private final Map<String, ConnectionProvider> pools = new ConcurrentHashMap<>();
+    private final Map<String, ClientHttpConnector> connectors = new ConcurrentHashMap<>();
+
+    public OutboundTransports(OutboundHttpProperties properties) {
+        this.properties = properties;
+    }
+
+    /** Connector backed by serviceId's own pool (created on first use, shared afterwards). */
+    public ClientHttpConnector connector(String serviceId) {
+        return connectors.computeIfAbsent(serviceId, id -> {
+            Settings settings = properties.settings(id);
+            ConnectionProvider pool = settings.pool(id);
+            pools.put(id, pool);
+            return new ReactorClientHttpConnector(settings.httpClient(pool));
+        });
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(ConnectionProvider::dispose);
+    }
+
+    /**
+     * Transport settings of one service.
+     *
+     * @param maxConnections        pool size (per remote address)
+     * @param pendingAcquireMax     requests allowed to wait for a connection; beyond it they fail at once
+     * @param pendingAcquireTimeout longest wait for a connection
+     * @param maxIdleTime           idle connections older than this are closed (before the server does)
+     * @param maxLifeTime           connections are recycled after this (picks up new instances/DNS)
+     * @param evictInterval         background eviction of idle/expired connections (0 = on acquire only)
+     * @param keepAlive             reuse connections (HTTP keep-alive)
+     * @param connectTimeout        TCP connect timeout
+     * @param responseTimeout       longest wait for the response (0 = none; the TimeLimiter still applies)
+     * @param compression           send Accept-Encoding: gzip and decompress responses
+     * @param protocols             HTTP11, H2C or both (h2c upgrade with HTTP/1.1 fallback)
+     */
+    public record Settings(int maxConnections, int pendingAcquireMax, Duration pendingAcquireTimeout,
+                           Duration maxIdleTime, Duration maxLifeTime, Duration evictInterval,
+                           boolean keepAlive, Duration connectTimeout, Duration responseTimeout,
+                           boolean compression, HttpProtocol[] protocols) {
+
+        public ConnectionProvider pool(String name) {
+            ConnectionProvider.Builder pool = ConnectionProvider.builder(name)
+                    .maxConnections(maxConnections)
+                    .pendingAcquireMaxCount(pendingAcquireMax)
+                    .pendingAcquireTimeout(pendingAcquireTimeout)
+                    .maxIdleTime(maxIdleTime)
+                    .maxLifeTime(maxLifeTime)
+                    .metrics(true);
+            if (!evictInterval.isZero()) pool.evictInBackground(evictInterval);
+            return pool.build();
+        }
+
+        public HttpClient httpClient(ConnectionProvider pool) {
+            HttpClient client = HttpClient.create(pool)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                    .keepAlive(keepAlive)
+                    .compress(compression)
+                    .protocol(protocols);
+            return responseTimeout.isZero() ? client : client.responseTimeout(responseTimeout);
+        }
+    }
+}
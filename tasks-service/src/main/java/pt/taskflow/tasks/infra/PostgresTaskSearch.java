@@ -0,0 +1,41 @@
+package pt.taskflow.tasks.infra;
+
+import pt.taskflow.tasks.domain.TaskRank;
+import pt.taskflow.tasks.domain.TaskRepository;
+
+import java.util.List;
+
+/**
+ * TaskSearch on PostgreSQL: one index-backed query (TaskRepository.searchRanked).
+ *
+ * task.search_vector is a stored generated column (title with weight A, description with
+ * weight B), so it is kept up to date by the database on every insert/update and nothing
+ * needs to be told about writes. The GIN index finds the matching rows; only the
+ * max-candidates most recent of them (tasks.search.max-candidates) are ranked and sorted,
+ * so a query matching most of the table does not rank the whole table on every page.
+ */
+public class PostgresTaskSearch implements TaskSearch {
+
+    private final TaskRepository repo;
+    private final int maxCandidates;
+
+    public PostgresTaskSearch(TaskRepository repo, int maxCandidates) {
+        this.repo = repo;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public List<Hit> search(List<String> terms, After after, int limit) {
+        // Words already normalised by queryTerms: plainto_tsquery ANDs them.
+        String query = String.join(" ", terms);
+        List<TaskRank> rows = after == null
+                ? repo.searchRanked(query, maxCandidates, Float.MAX_VALUE, "", limit)
+                : repo.searchRanked(query, maxCandidates, after.rank(), after.id(), limit);
+        return rows.stream().map(r -> new Hit(r.getId(), r.getRank())).toList();
+    }
+
+    @Override
+    public String backend() {
+        return "postgres";
+    }
+}
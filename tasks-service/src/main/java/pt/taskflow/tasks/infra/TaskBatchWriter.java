@@ -0,0 +1,109 @@
+package pt.taskflow.tasks.infra;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.JDBCException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskRepository;
+
+import java.util.List;
+
+/**
+ * Persists many tasks with few transactions and few JDBC round-trips.
+ *
+ * How:
+ * - Items are written in chunks (tasks.batch.chunk-size), one transaction per chunk.
+ * - Inside a chunk we call persist() only; Hibernate groups the INSERTs into JDBC
+ *   batches (hibernate.jdbc.batch_size + order_inserts in config-repo). This works
+ *   because ids are assigned by the app (Task.prePersist) and not by IDENTITY columns.
+ * - flush() + clear() at the end of each chunk keeps the persistence context small.
+ *
+ * If a chunk fails (e.g. a constraint violation), it is rolled back and its items are
+ * retried one per transaction, as new entities again, so only the offending items are
+ * reported as failed.
+ *
+ * Inserts bypass TaskRepository, so the cached list pages are cleared here afterwards.
+ */
+@Component
+@Profile("!reactive")
+public class TaskBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBatchWriter.class);
+
+    /** Outcome of one item: id when stored, error message otherwise. */
+    public record Outcome(String id, String error) {
+        public boolean ok() {
+            return error == null;
+        }
+    }
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+
+    public TaskBatchWriter(EntityManager em,
+                           TransactionTemplate tx,
+                           CacheManager cacheManager,
+                           @Value("${tasks.batch.chunk-size:500}") int chunkSize) {
+        this.em = em;
+        this.tx = tx;
+        this.cacheManager = cacheManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Inserts all tasks (always as new rows). Returns one Outcome per input, same order.
+     * Chunks are committed independently: earlier chunks stay stored if a later one fails.
+     */
+    public Outcome[] insertAll(List<Task> tasks) {
+        Outcome[] out = new Outcome[tasks.size()];
+        for (int from = 0; from < tasks.size(); from += chunkSize) {
+            List<Task> chunk = tasks.subList(from, Math.min(from + chunkSize, tasks.size()));
+            try {
+                insertChunk(chunk);
+                for (int i = 0; i < chunk.size(); i++) out[from + i] = new Outcome(chunk.get(i).getId(), null);
+            } catch (RuntimeException chunkFailure) {
+                log.warn("batch chunk [{}..{}) failed ({}), retrying item by item",
+                        from, from + chunk.size(), chunkFailure.getClass().getSimpleName());
+                for (int i = 0; i < chunk.size(); i++) out[from + i] = insertOne(chunk.get(i));
+            }
+        }
+        Cache lists = cacheManager.getCache(TaskRepository.CACHE_TASK_LISTS);
+        if (lists != null && !tasks.isEmpty()) lists.clear();
+        return out;
+    }
+
+    private void insertChunk(List<Task> chunk) {
+        tx.executeWithoutResult(status -> {
+            for (Task t : chunk) em.persist(t);
+            em.flush();
+            em.clear();
+        });
+    }
+
+    private Outcome insertOne(Task t) {
+        // The failed chunk's persist() already set id, version and timestamps: left as they are,
+        // the retry would see a detached entity (PersistentObjectException) instead of a new one.
+        t.setId(null);
+        t.setVersion(null);
+        t.setCreatedAt(null);
+        t.setUpdatedAt(null);
+        try {
+            insertChunk(List.of(t));
+            return new Outcome(t.getId(), null);
+        } catch (RuntimeException e) {
+            // Expose only the kind of failure (e.g. DataException, ConstraintViolationException), not SQL details.
+            Throwable reason = e;
+            while (!(reason instanceof JDBCException) && reason.getCause() != null) reason = reason.getCause();
+            return new Outcome(null, "not stored: " + reason.getClass().getSimpleName());
+        }
+    }
+}
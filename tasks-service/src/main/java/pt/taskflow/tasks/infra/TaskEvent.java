@@ -0,0 +1,29 @@
+package pt.taskflow.tasks.infra;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import pt.taskflow.tasks.domain.Task;
+
+import java.time.Instant;
+
+/**
+ * One entry of the /tasks/stream change feed (sent as the SSE "data", type as the SSE "event").
+ *
+ *   - CREATED:             task = the new task
+ *   - STATUS_CHANGED:      id, projectId, status
+ *   - BULK_STATUS_CHANGED: status, count, projectId when the bulk update was filtered by project
+ *   - BATCH_CREATED:       projectId, count (one event per project of a POST /tasks/batch)
+ *
+ * projectId == null means "unknown/any": such events reach every subscriber.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskEvent(
+        Type type,
+        String id,
+        String projectId,
+        String status,
+        Long count,
+        Task task,
+        Instant at
+) {
+    public enum Type { CREATED, STATUS_CHANGED, BULK_STATUS_CHANGED, BATCH_CREATED }
+}
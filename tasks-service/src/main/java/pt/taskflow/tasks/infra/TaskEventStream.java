@@ -0,0 +1,128 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import pt.taskflow.tasks.domain.Task;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory fan-out of task changes to SSE subscribers (GET /tasks/stream).
+ *
+ * How it scales:
+ * - No thread per connection: Spring MVC serves the Flux asynchronously and the writes
+ *   run on the blockingScheduler (see ThreadsConfig), never on the thread that made the change.
+ *   Thread cost: an idle connection holds no thread; while events are being written to it, one
+ *   scheduler worker is busy, blocked on the servlet output stream as long as the client is
+ *   slow to read. With platform threads that is boundedElastic (at most 10 x cores workers,
+ *   later drains queue behind them), so many slow clients receiving at once can delay the
+ *   others; with virtual threads each drain gets its own virtual thread.
+ * - Each subscriber has its own bounded buffer (tasks.stream.buffer-size). When a slow
+ *   client fills it, events are dropped for that client only (tasks.stream.overflow:
+ *   DROP_OLDEST or DROP_LATEST) and counted in tasks.stream.dropped. The merge and the
+ *   hand-off to the writer request only PREFETCH events ahead (their default is 32 and 256),
+ *   so a client is at most buffer-size + ~2 x PREFETCH events behind, not buffer-size + 288.
+ * - A comment line is sent every tasks.stream.heartbeat so idle proxies keep the connection.
+ *   A tick the client has no room for is skipped; without that, Flux.interval ends the
+ *   stream with an OverflowException once a slow client stops requesting.
+ *
+ * Scope: events are per instance (subscribers see writes handled by the same replica).
+ */
+@Component
+public class TaskEventStream {
+
+    /** Events requested ahead by the merge and by the hand-off to the writer thread. */
+    static final int PREFETCH = 8;
+
+    private final Sinks.Many<TaskEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ReentrantLock emitLock = new ReentrantLock();
+
+    private final int bufferSize;
+    private final BufferOverflowStrategy overflow;
+    private final Duration heartbeat;
+    private final Scheduler writer;
+    private final Counter dropped;
+    private final Counter published;
+
+    public TaskEventStream(MeterRegistry registry,
+                           @Qualifier("blockingScheduler") Scheduler writer,
+                           @Value("${tasks.stream.buffer-size:256}") int bufferSize,
+                           @Value("${tasks.stream.overflow:DROP_OLDEST}") BufferOverflowStrategy overflow,
+                           @Value("${tasks.stream.heartbeat:15s}") Duration heartbeat) {
+        this.bufferSize = bufferSize;
+        this.overflow = overflow;
+        this.heartbeat = heartbeat;
+        this.writer = writer;
+        this.dropped = Counter.builder("tasks.stream.dropped")
+                .description("Events dropped because a subscriber's buffer was full").register(registry);
+        this.published = Counter.builder("tasks.stream.published")
+                .description("Events published to the change feed").register(registry);
+        Gauge.builder("tasks.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open /tasks/stream connections").register(registry);
+    }
+
+    /** Live feed, optionally only for one project (events with unknown project are always included). */
+    public Flux<ServerSentEvent<TaskEvent>> subscribe(String projectId) {
+        Flux<ServerSentEvent<TaskEvent>> events = sink.asFlux()
+                .filter(e -> projectId == null || e.projectId() == null || projectId.equals(e.projectId()))
+                .onBackpressureBuffer(bufferSize, e -> dropped.increment(), overflow)
+                .map(e -> ServerSentEvent.builder(e).event(e.type().name()).build());
+        Flux<ServerSentEvent<TaskEvent>> keepAlive = Flux.interval(heartbeat)
+                .onBackpressureDrop()
+                .map(i -> ServerSentEvent.<TaskEvent>builder().comment("keep-alive").build());
+        return Flux.merge(PREFETCH, events, keepAlive)
+                .publishOn(writer, PREFETCH)
+                .doOnSubscribe(s -> subscribers.incrementAndGet())
+                .doFinally(s -> subscribers.decrementAndGet());
+    }
+
+    /** Lets writers skip work (e.g. a project lookup) that only events need. */
+    public boolean hasSubscribers() {
+        return subscribers.get() > 0;
+    }
+
+    public void created(Task task) {
+        emit(new TaskEvent(TaskEvent.Type.CREATED, task.getId(), task.getProjectId(), task.getStatus(),
+                null, task, task.getCreatedAt()));
+    }
+
+    public void statusChanged(String id, String projectId, String status, Instant at) {
+        emit(new TaskEvent(TaskEvent.Type.STATUS_CHANGED, id, projectId, status, null, null, at));
+    }
+
+    public void bulkStatusChanged(String projectId, String status, long count, Instant at) {
+        if (count == 0) return;
+        emit(new TaskEvent(TaskEvent.Type.BULK_STATUS_CHANGED, null, projectId, status, count, null, at));
+    }
+
+    /** @param countByProject number of tasks created per projectId (null key = no project) */
+    public void batchCreated(Map<String, Long> countByProject, Instant at) {
+        countByProject.forEach((projectId, count) ->
+                emit(new TaskEvent(TaskEvent.Type.BATCH_CREATED, null, projectId, null, count, null, at)));
+    }
+
+    // Sinks require serialized emission; writers are request threads, so serialize here.
+    // (A lock rather than synchronized: contended monitors pin virtual threads.)
+    private void emit(TaskEvent event) {
+        emitLock.lock();
+        try {
+            if (sink.tryEmitNext(event).isSuccess()) published.increment();
+        } finally {
+            emitLock.unlock();
+        }
+    }
+}
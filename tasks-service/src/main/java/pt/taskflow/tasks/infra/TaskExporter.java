@@ -0,0 +1,163 @@
+package pt.taskflow.tasks.infra;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes tasks to an OutputStream (NDJSON or CSV) with constant memory.
+ *
+ * How:
+ * - Rows come from TaskRepository.streamForExport (server-side cursor, fetch size
+ *   EXPORT_FETCH_SIZE), never as a List.
+ * - Each entity is detached right after being written, so the persistence context
+ *   does not grow with the number of rows.
+ * - Output is flushed every EXPORT_FETCH_SIZE rows: the client starts receiving
+ *   bytes immediately and nothing is buffered beyond one chunk.
+ *
+ * The read-only transaction keeps the cursor open while we write; it must wrap the
+ * whole export, hence the method is @Transactional and writes synchronously.
+ */
+@Component
+@Profile("!reactive")
+public class TaskExporter {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE),
+        CSV(TEXT_CSV_VALUE);
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+    }
+
+    /** What an export can be sent as, whatever ?format= asks for. */
+    public static final List<MediaType> MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_NDJSON, MediaType.parseMediaType(TEXT_CSV_VALUE));
+
+    /**
+     * True when the Accept header (null = none) admits NDJSON or CSV. The export endpoints map
+     * every Accept (produces = * / *) and check this themselves: a GET /tasks/export that did not
+     * match on produces would fall through to GET /tasks/{id} (task "export", 404), not a 406.
+     */
+    public static boolean acceptable(String accept) {
+        if (accept == null || accept.isBlank()) return true;
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(a -> MEDIA_TYPES.stream().anyMatch(a::isCompatibleWith));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    public static final String CSV_HEADER = "id,title,description,status,projectId,assignee,createdAt,updatedAt\n";
+
+    private final TaskRepository repo;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+    /** Without FLUSH_AFTER_WRITE_VALUE (on by default), so only the fetch-size flush below sends bytes. */
+    private final ObjectWriter rowWriter;
+
+    public TaskExporter(TaskRepository repo, EntityManager em, ObjectMapper mapper) {
+        this.repo = repo;
+        this.em = em;
+        this.mapper = mapper;
+        this.rowWriter = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(String status, String projectId, Instant updatedSince, Format format, OutputStream out)
+            throws IOException {
+        try (Stream<Task> rows = repo.streamForExport(status, projectId, updatedSince)) {
+            if (format == Format.CSV) writeCsv(rows.iterator(), out);
+            else writeNdjson(rows.iterator(), out);
+        }
+    }
+
+    private void writeNdjson(Iterator<Task> rows, OutputStream out) throws IOException {
+        JsonGenerator gen = mapper.getFactory().createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // the container owns the response stream
+        gen.setRootValueSeparator(null);
+        int n = 0;
+        while (rows.hasNext()) {
+            Task t = rows.next();
+            rowWriter.writeValue(gen, t);
+            gen.writeRaw('\n');
+            em.detach(t);
+            if (++n % TaskRepository.EXPORT_FETCH_SIZE == 0) gen.flush();
+        }
+        gen.close();
+    }
+
+    private void writeCsv(Iterator<Task> rows, OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        w.write(CSV_HEADER);
+        int n = 0;
+        while (rows.hasNext()) {
+            Task t = rows.next();
+            writeCsvRow(w, t);
+            em.detach(t);
+            if (++n % TaskRepository.EXPORT_FETCH_SIZE == 0) w.flush();
+        }
+        w.flush();
+    }
+
+    /** One CSV line (columns of CSV_HEADER), also used by the reactive export. */
+    public static void writeCsvRow(Writer w, Task t) throws IOException {
+        csv(w, t.getId()).write(',');
+        csv(w, t.getTitle()).write(',');
+        csv(w, t.getDescription()).write(',');
+        csv(w, t.getStatus()).write(',');
+        csv(w, t.getProjectId()).write(',');
+        csv(w, t.getAssignee()).write(',');
+        csv(w, t.getCreatedAt()).write(',');
+        csv(w, t.getUpdatedAt()).write('\n');
+    }
+
+    /** RFC 4180 quoting: only fields with separators, quotes or line breaks are quoted. */
+    private static Writer csv(Writer w, Object value) throws IOException {
+        if (value == null) return w;
+        String s = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            w.write(s);
+        } else {
+            w.write('"');
+            w.write(s.replace("\"", "\"\""));
+            w.write('"');
+        }
+        return w;
+    }
+}
@@ -0,0 +1,77 @@
+package pt.taskflow.tasks.infra;
+
+import pt.taskflow.tasks.domain.Task;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Full-text search over task title and description, for GET /tasks/search.
+ *
+ * Semantics (both backends): every query word must appear in the title or the description;
+ * hits come best first (title matches weigh more than description matches), ties by id
+ * descending. Paging is keyset on (rank, id): pass the last hit of a page as After.
+ * PostgresTaskSearch only ranks the tasks.search.max-candidates most recent matches.
+ *
+ * Implementations (tasks.search.mode, see SearchConfig):
+ * - PostgresTaskSearch: tsvector column + GIN index, ranked with ts_rank (schema.sql).
+ * - InMemoryTaskSearch: inverted index in this JVM, for H2 (schema-h2.sql) and tests.
+ */
+public interface TaskSearch {
+
+    /** Most words a query may have; the rest are ignored. */
+    int MAX_QUERY_TERMS = 8;
+    /** Longer "words" (hashes, base64 blobs) are not indexed. */
+    int MAX_TERM_LENGTH = 64;
+
+    record Hit(String id, float rank) {}
+
+    /** Position just after this (rank, id) in hit order. */
+    record After(float rank, String id) {}
+
+    /**
+     * @param terms  distinct query words, as returned by queryTerms (not empty)
+     * @param after  null for the first page
+     * @param limit  maximum number of hits
+     */
+    List<Hit> search(List<String> terms, After after, int limit);
+
+    /** False while the index is first being built: searches would miss tasks (answer 503). */
+    default boolean ready() {
+        return true;
+    }
+
+    /** A task was stored (created or its text changed). */
+    default void indexed(Task task) {}
+
+    /** "postgres" or "memory", reported in the X-Search-Backend response header. */
+    String backend();
+
+    /**
+     * Splits text into lower-case words: maximal runs of letters/digits, like the 'simple'
+     * text search configuration of PostgreSQL (no stemming, no stop words). Repeats are kept.
+     */
+    static List<String> terms(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null) return out;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) start = i;
+            else if (!word && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) out.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return out;
+    }
+
+    /** Distinct words of a query, at most MAX_QUERY_TERMS. */
+    static List<String> queryTerms(String query) {
+        Set<String> distinct = new LinkedHashSet<>(terms(query));
+        return distinct.stream().limit(MAX_QUERY_TERMS).toList();
+    }
+}
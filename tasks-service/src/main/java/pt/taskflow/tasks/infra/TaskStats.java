@@ -0,0 +1,242 @@
+package pt.taskflow.tasks.infra;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskCount;
+import pt.taskflow.tasks.domain.TaskRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Task counters kept in memory, so GET /tasks/stats never queries the database.
+ *
+ * - Rebuilt from one GROUP BY (status, projectId, assignee) when the app is ready and on
+ *   demand (POST /actuator/taskstats). That query runs nowhere else except check().
+ * - Updated as writes happen, by TaskController: +1 per created task (single and batch), and
+ *   a move from the old status to the new one on a status change (the row read before the
+ *   guarded UPDATE) and on bulk changes (bulkStatusChange: the affected rows are counted by
+ *   key in the same REPEATABLE READ transaction as the UPDATE, so both see the same rows).
+ * - Other replicas: every write clears CACHE_TASK_LISTS, which BroadcastingCacheManager
+ *   publishes on the CacheInvalidationBus. A clear coming from a peer queues a rebuild here
+ *   (coalesced, in the background), so with tasks.cache.invalidation.mode=http all replicas
+ *   converge on the table. With mode=local peers do not hear about each other's writes; use
+ *   POST /actuator/taskstats on each replica, or run a single one.
+ *
+ * A write that commits while a rebuild is counting may be counted twice or not at all;
+ * check() compares the counters with the database and reports such drift, rebuild() repairs it.
+ */
+@Component
+@Profile("!reactive")
+public class TaskStats {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStats.class);
+
+    /** Key used for tasks without project/assignee (ConcurrentHashMap has no null keys). */
+    public static final String NONE = "(none)";
+
+    /** Immutable view returned to clients. Zero counts are omitted. */
+    public record Snapshot(long total,
+                           Map<String, Long> byStatus,
+                           Map<String, Map<String, Long>> byProject,
+                           Map<String, Map<String, Long>> byAssignee,
+                           Instant rebuiltAt) {}
+
+    private final TaskRepository repo;
+    private final TaskExecutor executor;
+    private final BroadcastingCacheManager cacheManager;
+    private final TransactionTemplate repeatableRead;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile Counters counters = new Counters();
+    private volatile Instant rebuiltAt;
+
+    public TaskStats(TaskRepository repo,
+                     TaskExecutor executor,
+                     BroadcastingCacheManager cacheManager,
+                     CacheInvalidationBus bus,
+                     PlatformTransactionManager transactions) {
+        this.repo = repo;
+        this.executor = executor;
+        this.cacheManager = cacheManager;
+        this.repeatableRead = new TransactionTemplate(transactions);
+        this.repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    public void created(Task task) {
+        counters.add(task.getStatus(), task.getProjectId(), task.getAssignee(), 1);
+    }
+
+    /** @param before the task as it was before the change (only status, projectId and assignee are used) */
+    public void statusChanged(Task before, String newStatus) {
+        Counters c = counters;
+        c.add(before.getStatus(), before.getProjectId(), before.getAssignee(), -1);
+        c.add(newStatus, before.getProjectId(), before.getAssignee(), 1);
+    }
+
+    /**
+     * Runs a bulk status UPDATE and moves the counts of the rows it changed.
+     *
+     * @param affected counts the rows the update will change, by key (same filter as the UPDATE)
+     * @param update   the UPDATE; returns the number of rows changed
+     * @return what update returned
+     * @throws org.springframework.dao.ConcurrencyFailureException if another transaction changed
+     *         one of those rows in between (nothing is updated or counted then; retry)
+     */
+    public int bulkStatusChange(Supplier<List<TaskCount>> affected, IntSupplier update, String newStatus) {
+        record Counted(List<TaskCount> before, int updated) {}
+        Counted result = repeatableRead.execute(tx -> new Counted(affected.get(), update.getAsInt()));
+        Counters c = counters;
+        for (TaskCount row : result.before()) {
+            c.add(row.status(), row.projectId(), row.assignee(), -row.count());
+            c.add(newStatus, row.projectId(), row.assignee(), row.count());
+        }
+        // The UPDATE's cache evictions ran before the commit: peers that rebuilt on them may
+        // have counted the old rows, so tell them again now that the rows are committed.
+        Cache lists = cacheManager.getCache(TaskRepository.CACHE_TASK_LISTS);
+        if (lists != null) lists.clear();
+        return result.updated();
+    }
+
+    public Snapshot snapshot() {
+        return counters.snapshot(rebuiltAt);
+    }
+
+    /** Recounts from the database and swaps the counters in one step (this replica only). */
+    public synchronized void rebuild() {
+        counters = count(repo.countByStatusProjectAndAssignee());
+        rebuiltAt = Instant.now();
+        log.debug("task stats rebuilt: {} tasks", counters.total());
+    }
+
+    /** Queues a rebuild; calls arriving while one is already queued are coalesced into it. */
+    public void rebuildAsync() {
+        if (!rebuildQueued.compareAndSet(false, true)) return;
+        executor.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("task stats rebuild failed: {}", e.toString());
+            }
+        });
+    }
+
+    /** Compares the in-memory counters with a fresh GROUP BY, without changing anything. */
+    public Map<String, Object> check() {
+        Snapshot memory = snapshot();
+        Snapshot database = count(repo.countByStatusProjectAndAssignee()).snapshot(null);
+        List<Map<String, Object>> differences = new ArrayList<>();
+        if (memory.total() != database.total())
+            differences.add(difference("total", "", memory.total(), database.total()));
+        diff("byStatus", memory.byStatus(), database.byStatus(), differences);
+        diffNested("byProject", memory.byProject(), database.byProject(), differences);
+        diffNested("byAssignee", memory.byAssignee(), database.byAssignee(), differences);
+
+        Map<String, Object> result = new TreeMap<>();
+        result.put("consistent", differences.isEmpty());
+        result.put("differences", differences);
+        result.put("rebuiltAt", memory.rebuiltAt());
+        result.put("checkedAt", Instant.now());
+        return result;
+    }
+
+    /** A write on another replica (it cleared the list pages): our counters missed it. */
+    private void onInvalidation(CacheInvalidationBus.Invalidation inv) {
+        if (TaskRepository.CACHE_TASK_LISTS.equals(inv.cache()) && inv.key() == null
+                && !cacheManager.origin().equals(inv.origin())) {
+            rebuildAsync();
+        }
+    }
+
+    private static Counters count(List<TaskCount> rows) {
+        Counters fresh = new Counters();
+        for (TaskCount row : rows) fresh.add(row.status(), row.projectId(), row.assignee(), row.count());
+        return fresh;
+    }
+
+    private static void diffNested(String dimension, Map<String, Map<String, Long>> memory,
+                                   Map<String, Map<String, Long>> database, List<Map<String, Object>> out) {
+        TreeMap<String, Map<String, Long>> keys = new TreeMap<>(memory);
+        database.forEach(keys::putIfAbsent);
+        for (String key : keys.keySet())
+            diff(dimension + "." + key, memory.getOrDefault(key, Map.of()), database.getOrDefault(key, Map.of()), out);
+    }
+
+    private static void diff(String dimension, Map<String, Long> memory, Map<String, Long> database,
+                             List<Map<String, Object>> out) {
+        TreeMap<String, Long> keys = new TreeMap<>(memory);
+        database.forEach(keys::putIfAbsent);
+        for (String key : keys.keySet()) {
+            long m = memory.getOrDefault(key, 0L), d = database.getOrDefault(key, 0L);
+            if (m != d) out.add(difference(dimension, key, m, d));
+        }
+    }
+
+    private static Map<String, Object> difference(String dimension, String key, long memory, long database) {
+        return Map.of("dimension", dimension, "key", key, "memory", memory, "database", database);
+    }
+
+    /**
+     * The live counters, one per (status, projectId, assignee), as the GROUP BY returns them.
+     * LongAdder keeps concurrent increments cheap; a snapshot sums over the distinct keys only.
+     */
+    private static final class Counters {
+
+        private record Key(String status, String projectId, String assignee) {}
+
+        private final ConcurrentHashMap<Key, LongAdder> counts = new ConcurrentHashMap<>();
+
+        void add(String status, String projectId, String assignee, long delta) {
+            Key key = new Key(Objects.requireNonNullElse(status, NONE), Objects.requireNonNullElse(projectId, NONE),
+                    Objects.requireNonNullElse(assignee, NONE));
+            counts.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+
+        long total() {
+            return counts.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        Snapshot snapshot(Instant rebuiltAt) {
+            Map<String, Long> byStatus = new TreeMap<>();
+            Map<String, Map<String, Long>> byProject = new TreeMap<>();
+            Map<String, Map<String, Long>> byAssignee = new TreeMap<>();
+            long total = 0;
+            for (Map.Entry<Key, LongAdder> e : counts.entrySet()) {
+                long n = e.getValue().sum();
+                if (n == 0) continue;
+                Key k = e.getKey();
+                byStatus.merge(k.status(), n, Long::sum);
+                byProject.computeIfAbsent(k.projectId(), p -> new TreeMap<>()).merge(k.status(), n, Long::sum);
+                byAssignee.computeIfAbsent(k.assignee(), a -> new TreeMap<>()).merge(k.status(), n, Long::sum);
+                total += n;
+            }
+            return new Snapshot(total, byStatus, byProject, byAssignee, rebuiltAt);
+        }
+    }
+}
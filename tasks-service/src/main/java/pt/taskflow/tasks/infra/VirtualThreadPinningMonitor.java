@@ -0,0 +1,95 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the JFR event jdk.VirtualThreadPinned: a virtual thread that blocked (sleep, I/O,
+ * lock) for longer than the threshold while it could not unmount from its carrier, usually
+ * because it was inside a synchronized block or a native frame. Each pinned virtual thread
+ * holds a whole carrier (there are only as many as CPUs), so a frequent pin undoes the
+ * benefit of virtual threads.
+ *
+ * - Metrics: tasks.threads.pinned (count) and tasks.threads.pinned.duration (timer).
+ * - Log: one WARN with the stack per distinct pinning site, so the culprit can be fixed
+ *   (e.g. synchronized -> ReentrantLock) without flooding the log.
+ *
+ * In-process alternative to -Djdk.tracePinnedThreads=short. Only created when
+ * spring.threads.virtual.enabled=true (see ThreadsConfig).
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 100;
+    private static final int FRAMES_LOGGED = 12;
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private final Timer pinnedDuration;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("tasks.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier").register(registry);
+        this.pinnedDuration = Timer.builder("tasks.threads.pinned.duration")
+                .description("How long pinned virtual threads blocked their carrier").register(registry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream rs = new RecordingStream();
+        rs.enable(EVENT).withThreshold(threshold).withStackTrace();
+        rs.onEvent(EVENT, this::onPinned);
+        rs.startAsync();
+        stream = rs;
+        log.info("virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream rs = stream;
+        stream = null;
+        if (rs != null) rs.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        pinnedDuration.record(event.getDuration());
+        RecordedStackTrace stack = event.getStackTrace();
+        if (stack == null || reportedSites.size() >= MAX_REPORTED_SITES) return;
+        String frames = stack.getFrames().stream()
+                .limit(FRAMES_LOGGED)
+                .map(VirtualThreadPinningMonitor::frame)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        if (reportedSites.add(frames)) {
+            log.warn("virtual thread pinned for {} ms (reported once per site):\n{}",
+                    event.getDuration().toMillis(), frames);
+        }
+    }
+
+    private static String frame(RecordedFrame f) {
+        return f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+    }
+}
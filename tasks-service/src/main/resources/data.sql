@@ -1,17 +1,17 @@
 
-INSERT INTO task (title, description, status)
-SELECT 'Initial setup', 'Initialize project and repository structure', 'OPEN'
+INSERT INTO task (id, title, description, status)
+SELECT '00000000-0000-7000-8000-000000000001', 'Initial setup', 'Initialize project and repository structure', 'OPEN'
 WHERE NOT EXISTS (SELECT 1 FROM task WHERE title = 'Initial setup');
 
-INSERT INTO task (title, description, status)
-SELECT 'Containerization', 'Dockerize services and run via Docker Compose', 'OPEN'
+INSERT INTO task (id, title, description, status)
+SELECT '00000000-0000-7000-8000-000000000002', 'Containerization', 'Dockerize services and run via Docker Compose', 'OPEN'
 WHERE NOT EXISTS (SELECT 1 FROM task WHERE title = 'Containerization');
 
-INSERT INTO task (title, description, status)
-SELECT 'Service discovery', 'Ensure services register and resolve via Eureka', 'IN_PROGRESS'
+INSERT INTO task (id, title, description, status)
+SELECT '00000000-0000-7000-8000-000000000003', 'Service discovery', 'Ensure services register and resolve via Eureka', 'IN_PROGRESS'
 WHERE NOT EXISTS (SELECT 1 FROM task WHERE title = 'Service discovery');
 
-INSERT INTO task (title, description, status)
-SELECT 'Gateway routing', 'Expose API via Gateway and route to tasks-service', 'DONE'
+INSERT INTO task (id, title, description, status)
+SELECT '00000000-0000-7000-8000-000000000004', 'Gateway routing', 'Expose API via Gateway and route to tasks-service', 'DONE'
 WHERE NOT EXISTS (SELECT 1 FROM task WHERE title = 'Gateway routing');
 
@@ -1,19 +1,29 @@
 -- H2-compatible schema (dev profile)
 
 CREATE TABLE IF NOT EXISTS task (
-  id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id           VARCHAR(36) PRIMARY KEY,   -- UUID gerado pela app (Task.prePersist)
   title        VARCHAR(140) NOT NULL,
   description  CLOB,
   status       VARCHAR(32) NOT NULL DEFAULT 'OPEN',
   assignee     VARCHAR(140),          -- <— NOVO
-  project_id   BIGINT,                -- <— NOVO (camelCase projectId → snake_case)
+  project_id   VARCHAR(64),           -- <— NOVO (camelCase projectId → snake_case; String na entidade)
   created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-  updated_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+  updated_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  version      BIGINT NOT NULL DEFAULT 0   -- optimistic lock (@Version)
 );
 
 -- Ajuste idempotente se a tabela já existia sem as colunas novas
 ALTER TABLE task ADD COLUMN IF NOT EXISTS assignee   VARCHAR(140);
-ALTER TABLE task ADD COLUMN IF NOT EXISTS project_id BIGINT;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS project_id VARCHAR(64);
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version    BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE task ALTER COLUMN project_id SET DATA TYPE VARCHAR(64);   -- era BIGINT
 
-CREATE INDEX IF NOT EXISTS idx_task_status      ON task (status);
-CREATE INDEX IF NOT EXISTS idx_task_created_at  ON task (created_at DESC);
+-- Mesmos índices que schema.sql (ver lá o porquê)
+DROP INDEX IF EXISTS idx_task_status;
+DROP INDEX IF EXISTS idx_task_created_at;
+CREATE INDEX IF NOT EXISTS idx_task_created            ON task (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_status_created     ON task (status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_project_created    ON task (project_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_project_status_created ON task (project_id, status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_updated_at         ON task (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_task_project_updated    ON task (project_id, updated_at, id);
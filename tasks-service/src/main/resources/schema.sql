@@ -1,14 +1,60 @@
 -- PostgreSQL schema (docker/prod)
 CREATE TABLE IF NOT EXISTS task (
-  id           BIGSERIAL PRIMARY KEY,
+  id           VARCHAR(36) PRIMARY KEY,   -- UUID gerado pela app (Task.prePersist)
   title        VARCHAR(140) NOT NULL,
   description  TEXT,
   status       VARCHAR(32) NOT NULL DEFAULT 'OPEN',
   assignee     VARCHAR(140),      -- NOVO
-  project_id   BIGINT,            -- NOVO
+  project_id   VARCHAR(64),       -- Task.projectId é String (ids de projeto opacos)
   created_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
-  updated_at   TIMESTAMPTZ NOT NULL DEFAULT NOW()
+  updated_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  version      BIGINT NOT NULL DEFAULT 0   -- optimistic lock (@Version)
 );
 
-CREATE INDEX IF NOT EXISTS idx_task_status      ON task (status);
-CREATE INDEX IF NOT EXISTS idx_task_created_at  ON task (created_at DESC);
+-- Migração única de tabelas antigas (id BIGSERIAL) para chaves UUID em texto.
+-- Sem DEFAULT/IDENTITY os inserts podem ir em batch JDBC (IDENTITY obriga a 1 insert por round-trip).
+-- Este script corre em cada arranque (spring.sql.init.mode=always) e ALTER COLUMN TYPE tranca a
+-- tabela (ACCESS EXCLUSIVE) e pode reescrevê-la: só corre se a coluna ainda não for VARCHAR.
+-- Corpo do DO entre plicas (não $$): o ScriptUtils do Spring só não parte em ';' dentro de plicas.
+DO '
+BEGIN
+  IF EXISTS (SELECT 1 FROM information_schema.columns
+             WHERE table_schema = current_schema() AND table_name = ''task'' AND column_name = ''id''
+               AND data_type <> ''character varying'') THEN
+    ALTER TABLE task ALTER COLUMN id DROP DEFAULT;
+    ALTER TABLE task ALTER COLUMN id TYPE VARCHAR(36) USING id::text;
+  END IF;
+END';
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+-- project_id era BIGINT: comparado com o String da entidade, obrigava a casts (e o r2dbc recusava o bind).
+-- Mesma guarda: só reescreve a tabela enquanto a coluna não for VARCHAR.
+DO '
+BEGIN
+  IF EXISTS (SELECT 1 FROM information_schema.columns
+             WHERE table_schema = current_schema() AND table_name = ''task'' AND column_name = ''project_id''
+               AND data_type <> ''character varying'') THEN
+    ALTER TABLE task ALTER COLUMN project_id TYPE VARCHAR(64) USING project_id::text;
+  END IF;
+END';
+
+-- Pesquisa de texto (GET /tasks/search, PostgresTaskSearch): coluna gerada e guardada pelo próprio
+-- Postgres em cada INSERT/UPDATE. Título com peso A, descrição com peso B (ts_rank dá mais valor ao título).
+-- Configuração 'simple': sem stemming nem stop words (títulos misturam português e inglês).
+ALTER TABLE task ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+  ) STORED;
+
+-- Índices = queries do TaskRepository: filtro por igualdade primeiro, depois a ordenação do keyset
+-- (created_at DESC, id DESC), para a página ser lida já ordenada e parar ao fim de LIMIT linhas.
+-- Substituem idx_task_status e idx_task_created_at (sem o id, não serviam o desempate do cursor).
+DROP INDEX IF EXISTS idx_task_status;
+DROP INDEX IF EXISTS idx_task_created_at;
+CREATE INDEX IF NOT EXISTS idx_task_created            ON task (created_at DESC, id DESC);                     -- GET /tasks
+CREATE INDEX IF NOT EXISTS idx_task_status_created     ON task (status, created_at DESC, id DESC);             -- ?status=
+CREATE INDEX IF NOT EXISTS idx_task_project_created    ON task (project_id, created_at DESC, id DESC);         -- ?projectId=
+CREATE INDEX IF NOT EXISTS idx_task_project_status_created ON task (project_id, status, created_at DESC, id DESC); -- ambos; PATCH /tasks/status
+CREATE INDEX IF NOT EXISTS idx_task_updated_at         ON task (updated_at, id);             -- GET /tasks/changes e ETag das listas
+CREATE INDEX IF NOT EXISTS idx_task_project_updated    ON task (project_id, updated_at, id); -- GET /tasks/changes?projectId=
+CREATE INDEX IF NOT EXISTS idx_task_search      ON task USING GIN (search_vector);   -- GET /tasks/search
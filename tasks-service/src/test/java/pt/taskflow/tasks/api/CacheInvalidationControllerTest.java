@@ -0,0 +1,67 @@
+package pt.taskflow.tasks.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import pt.taskflow.tasks.infra.CacheInvalidationBus;
+import pt.taskflow.tasks.infra.HttpCacheInvalidationBus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The receiving end on its own: only requests with the shared token reach the caches.
+ * (publish() is not called, so the bus needs no DiscoveryClient.)
+ */
+class CacheInvalidationControllerTest {
+
+    private final HttpCacheInvalidationBus bus = new HttpCacheInvalidationBus(null, "tasks-service", "s3cret");
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new CacheInvalidationController(bus)).build();
+    private final List<CacheInvalidationBus.Invalidation> delivered = new ArrayList<>();
+
+    {
+        bus.subscribe(delivered::add);
+    }
+
+    @Test
+    void withoutTokenIsRejected() throws Exception {
+        mvc.perform(invalidation()).andExpect(status().isUnauthorized());
+
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void wrongTokenIsRejected() throws Exception {
+        mvc.perform(invalidation().header(HttpCacheInvalidationBus.TOKEN_HEADER, "s3cre"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void sharedTokenIsDelivered() throws Exception {
+        mvc.perform(invalidation().header(HttpCacheInvalidationBus.TOKEN_HEADER, "s3cret"))
+                .andExpect(status().isAccepted());
+
+        assertThat(delivered).containsExactly(new CacheInvalidationBus.Invalidation("peer", "tasks", "t1"));
+    }
+
+    @Test
+    void httpModeNeedsAToken() {
+        assertThatThrownBy(() -> new HttpCacheInvalidationBus(null, "tasks-service", " "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MockHttpServletRequestBuilder invalidation() {
+        return post(HttpCacheInvalidationBus.PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"origin\":\"peer\",\"cache\":\"tasks\",\"key\":\"t1\"}");
+    }
+}
@@ -0,0 +1,377 @@
+package pt.taskflow.tasks.api;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.domain.TaskRepository;
+import pt.taskflow.tasks.infra.CacheInvalidationBus;
+import pt.taskflow.tasks.infra.TaskExporter;
+import pt.taskflow.tasks.infra.TaskSearch;
+import pt.taskflow.tasks.infra.TaskStats;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per endpoint, on the dev schema (H2, schema-h2.sql), counted with Hibernate
+ * statistics. A new lazy association (N+1), a lost cache or a per-item query in a bulk path
+ * changes a count and fails the build; so does a repository query that stops using the
+ * composite indexes (EXPLAIN of the SQL Hibernate generated for the request, at the end).
+ *
+ * Counts are for a cold cache (CacheConfig), except where a test warms it on purpose.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:sqlcount;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:schema-h2.sql",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "pt.taskflow.tasks.api.TaskControllerSqlCountTest$CapturedSql",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "tasks.batch.chunk-size=50",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "tasks.access-log.enabled=false",
+        "demo.outbound.base-url=http://localhost:0"
+})
+@AutoConfigureMockMvc
+class TaskControllerSqlCountTest {
+
+    private static final int CHUNK_SIZE = 50;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TaskRepository repo;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TaskSearch search;
+    @Autowired
+    private TaskExporter exporter;
+    @Autowired
+    private TaskStats stats;
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    private Statistics statistics;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        await().atMost(Duration.ofSeconds(10)).until(search::ready); // index built in the background at startup
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        task = repo.save(Task.builder().title("sql count probe").description("statements per endpoint")
+                .projectId("p1").status("TODO").build());
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        statistics.clear();
+    }
+
+    /** JDBC statements prepared while running the request (status 2xx asserted). */
+    private long statements(RequestBuilder request) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        mvc.perform(request).andExpect(status().is2xxSuccessful());
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    @Test
+    void listIsStampPlusOnePageQuery() throws Exception {
+        assertThat(statements(get("/tasks").param("limit", "20"))).isEqualTo(2);
+        assertThat(statements(get("/tasks").param("projectId", "p1").param("status", "TODO"))).isEqualTo(2);
+    }
+
+    @Test
+    void listServedFromCacheWhenWarm() throws Exception {
+        statements(get("/tasks").param("limit", "20"));
+        assertThat(statements(get("/tasks").param("limit", "20"))).isZero();
+    }
+
+    @Test
+    void listETagIsPerPageAndA304CostsNoQuery() throws Exception {
+        repo.save(Task.builder().title("second page").projectId("p1").status("TODO").build());
+        MvcResult first = mvc.perform(get("/tasks").param("limit", "1")).andReturn();
+        String firstTag = first.getResponse().getHeader("ETag");
+        String cursor = first.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER);
+        String secondTag = mvc.perform(get("/tasks").param("limit", "1").param("cursor", cursor))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(secondTag).isNotEqualTo(firstTag);
+
+        long before = statistics.getPrepareStatementCount();
+        mvc.perform(get("/tasks").param("limit", "1").header("If-None-Match", firstTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount() - before).isZero();
+
+        // Coarse: a write anywhere in the filter changes every page's tag, and the stamp is recounted
+        mvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"new\"}"))
+                .andExpect(status().isCreated());
+        before = statistics.getPrepareStatementCount();
+        mvc.perform(get("/tasks").param("limit", "1").param("cursor", cursor).header("If-None-Match", secondTag))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(2);
+    }
+
+    @Test
+    void getByIdIsOneLookupThenCached() throws Exception {
+        assertThat(statements(get("/tasks/{id}", task.getId()))).isEqualTo(1);
+        assertThat(statements(get("/tasks/{id}", task.getId()))).isZero();
+    }
+
+    @Test
+    void changesIsOneQuery() throws Exception {
+        assertThat(statements(get("/tasks/changes").param("since", "2000-01-01T00:00:00Z"))).isEqualTo(1);
+    }
+
+    @Test
+    void searchLoadsThePageInOneQuery() throws Exception {
+        mvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"indexed probe\"}"))
+                .andExpect(status().isCreated());
+        assertThat(statements(get("/tasks/search").param("q", "probe"))).isEqualTo(1);
+    }
+
+    @Test
+    void statsComeFromMemory() throws Exception {
+        assertThat(statements(get("/tasks/stats"))).isZero();
+    }
+
+    @Test
+    void statsFollowWritesWithoutRecounting() throws Exception {
+        stats.rebuild(); // setUp saved through the repository, which the counters do not see
+        Map<String, Long> p1 = stats.snapshot().byProject().get("p1");
+        mvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"counted\",\"projectId\":\"p-stats\",\"assignee\":\"ana\"}"))
+                .andExpect(status().isCreated());
+        mvc.perform(post("/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"b1\",\"projectId\":\"p-stats\",\"status\":\"DOING\"}]"))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/tasks/{id}/status", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DOING\"}"))
+                .andExpect(status().isOk());
+        assertThat(stats.snapshot().byProject().get("p-stats")).isEqualTo(Map.of("TODO", 1L, "DOING", 1L));
+        assertThat(stats.snapshot().byProject().get("p1"))
+                .containsEntry("TODO", p1.get("TODO") - 1)
+                .containsEntry("DOING", p1.getOrDefault("DOING", 0L) + 1);
+
+        mvc.perform(patch("/tasks/status").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\",\"projectId\":\"p-stats\"}"))
+                .andExpect(jsonPath("$.updated").value(2));
+
+        assertThat(statements(get("/tasks/stats"))).isZero();
+        assertThat(stats.snapshot().byProject().get("p-stats")).isEqualTo(Map.of("DONE", 2L));
+        assertThat(stats.snapshot().byAssignee().get("ana")).isEqualTo(Map.of("DONE", 1L));
+        assertThat(stats.check()).containsEntry("consistent", true);
+    }
+
+    @Test
+    void statsRecountWhenAPeerWrites() throws Exception {
+        stats.rebuild();
+        long total = stats.snapshot().total();
+        repo.save(Task.builder().title("written by a peer").build()); // our own clear: no recount
+        assertThat(stats.snapshot().total()).isEqualTo(total);
+
+        bus.publish(new CacheInvalidationBus.Invalidation("peer", TaskRepository.CACHE_TASK_LISTS, null));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> stats.snapshot().total() == total + 1);
+    }
+
+    @Test
+    void exportIsOneStreamingQuery() throws Exception {
+        assertThat(statements(get("/tasks/export").param("format", "csv"))).isEqualTo(1);
+    }
+
+    @Test
+    void exportAsJsonIs406ListingTheFormats() throws Exception {
+        mvc.perform(get("/tasks/export").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Supported formats: [application/x-ndjson, text/csv]"));
+        mvc.perform(get("/tasks/export").accept(MediaType.APPLICATION_NDJSON)).andExpect(status().isOk());
+        mvc.perform(get("/tasks/export").param("format", "csv").accept("text/csv")).andExpect(status().isOk());
+    }
+
+    @Test
+    void exportFlushesOncePerFetch() throws Exception {
+        repo.saveAll(IntStream.range(0, TaskRepository.EXPORT_FETCH_SIZE + 1)
+                .mapToObj(i -> Task.builder().title("export " + i).build()).toList());
+        long rows = repo.count();
+
+        for (TaskExporter.Format format : TaskExporter.Format.values()) {
+            AtomicInteger flushes = new AtomicInteger();
+            OutputStream out = new OutputStream() {
+                @Override public void write(int b) {}
+                @Override public void write(byte[] b, int off, int len) {}
+                @Override public void flush() { flushes.incrementAndGet(); }
+            };
+            exporter.export(null, null, null, format, out);
+            // one per EXPORT_FETCH_SIZE rows, plus the final one
+            assertThat(flushes.get()).as(format.name()).isEqualTo(rows / TaskRepository.EXPORT_FETCH_SIZE + 1);
+        }
+    }
+
+    @Test
+    void createIsOneInsert() throws Exception {
+        assertThat(statements(post("/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"one\"}"))).isEqualTo(1);
+    }
+
+    @Test
+    void batchCreateIsOneStatementPerChunk() throws Exception {
+        int items = 120;
+        String body = IntStream.range(0, items).mapToObj(i -> "{\"title\":\"bulk " + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        assertThat(statements(post("/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body)))
+                .isEqualTo((items + CHUNK_SIZE - 1) / CHUNK_SIZE); // the INSERT is prepared once per chunk, then batched
+    }
+
+    @Test
+    void batchWithOneInvalidRowStoresTheOthers() throws Exception {
+        String body = "[{\"title\":\"ok 1\"},{\"title\":\"" + "x".repeat(141) + "\"},{\"title\":\"ok 2\"}]";
+
+        mvc.perform(post("/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].id").isNotEmpty())
+                .andExpect(jsonPath("$.items[1].error").value("not stored: DataException"))
+                .andExpect(jsonPath("$.items[2].id").isNotEmpty());
+        assertThat(jdbc.queryForObject("select count(*) from task where title in ('ok 1', 'ok 2')", Long.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void statusChangeIsOneReadAndOneUpdate() throws Exception {
+        assertThat(statements(patch("/tasks/{id}/status", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))).isEqualTo(2);
+    }
+
+    @Test
+    void statusChangeReturnsTheUpdatedTask() throws Exception {
+        mvc.perform(patch("/tasks/{id}/status", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DOING\",\"version\":\"" + task.getVersion() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(task.getId()))
+                .andExpect(jsonPath("$.title").value("sql count probe"))
+                .andExpect(jsonPath("$.projectId").value("p1"))
+                .andExpect(jsonPath("$.status").value("DOING"))
+                .andExpect(jsonPath("$.version").value(task.getVersion() + 1));
+
+        // the same version again: the task has moved on
+        mvc.perform(patch("/tasks/{id}/status", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\",\"version\":\"" + task.getVersion() + "\"}"))
+                .andExpect(status().isConflict());
+        assertThat(repo.findUnmanagedById(task.getId()).orElseThrow().getStatus()).isEqualTo("DOING");
+    }
+
+    @Test
+    void bulkStatusChangeIsOneCountAndOneUpdate() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) ids.add(repo.save(Task.builder().title("b" + i).build()).getId());
+        String body = ids.stream().map(id -> "\"" + id + "\"")
+                .collect(Collectors.joining(",", "{\"status\":\"DONE\",\"ids\":[", "]}"));
+        assertThat(statements(patch("/tasks/status").contentType(MediaType.APPLICATION_JSON).content(body))).isEqualTo(2);
+    }
+
+    // --- index use of the SQL the repository generates (H2 plans name the index used) ---
+
+    /** Records every statement Hibernate prepares (hibernate.session_factory.statement_inspector). */
+    public static final class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    /** The one page query (select ... from task ... order by) Hibernate generated for the request. */
+    private String pageQuery(RequestBuilder request) throws Exception {
+        CapturedSql.STATEMENTS.clear();
+        mvc.perform(request).andExpect(status().isOk());
+        List<String> pages = CapturedSql.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains(" order by ")).toList();
+        assertThat(pages).hasSize(1);
+        return pages.get(0);
+    }
+
+    /** H2's plan for the statement, with the request's values bound in parameter order. */
+    private String plan(String sql, Object... params) {
+        jdbc.execute("ANALYZE");
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class, params).toUpperCase();
+    }
+
+    @Test
+    void listFiltersUseCompositeIndexes() throws Exception {
+        Timestamp end = Timestamp.from(TaskCursor.END_OF_TIME);
+        assertThat(plan(pageQuery(get("/tasks")), end, 21))
+                .contains("IDX_TASK_CREATED");
+        assertThat(plan(pageQuery(get("/tasks").param("status", "TODO")), "TODO", end, 21))
+                .contains("IDX_TASK_STATUS_CREATED");
+        assertThat(plan(pageQuery(get("/tasks").param("projectId", "p1")), "p1", end, 21))
+                .contains("IDX_TASK_PROJECT_CREATED");
+        assertThat(plan(pageQuery(get("/tasks").param("status", "TODO").param("projectId", "p1")), "TODO", "p1", end, 21))
+                .contains("IDX_TASK_PROJECT_STATUS_CREATED");
+    }
+
+    /** A cursor page must seek (created_at <= t in the index condition), not scan from the top and filter. */
+    @Test
+    void cursorPagesSeekTheIndex() throws Exception {
+        repo.save(Task.builder().title("second probe").projectId("p1").status("TODO").build());
+        String cursor = mvc.perform(get("/tasks").param("limit", "1")).andReturn().getResponse()
+                .getHeader(TaskController.NEXT_CURSOR_HEADER);
+        Map<String, Object> keys = ((KeysetScrollPosition) TaskCursor.decode(cursor, TaskCursor.CREATED_AT)).getKeys();
+        Timestamp t = Timestamp.from((Instant) keys.get(TaskCursor.CREATED_AT));
+
+        assertThat(plan(pageQuery(get("/tasks").param("cursor", cursor)), t, t, t, keys.get("id"), 101))
+                .contains("IDX_TASK_CREATED: CREATED_AT <=");
+    }
+
+    @Test
+    void changesFiltersUseCompositeIndexes() throws Exception {
+        Timestamp since = Timestamp.from(Instant.parse("2000-01-01T00:00:00Z"));
+        assertThat(plan(pageQuery(get("/tasks/changes").param("since", "2000-01-01T00:00:00Z")),
+                since, since, since, "", 21))
+                .contains("IDX_TASK_UPDATED_AT");
+        assertThat(plan(pageQuery(get("/tasks/changes").param("since", "2000-01-01T00:00:00Z").param("projectId", "p1")),
+                "p1", since, since, since, "", 21))
+                .contains("IDX_TASK_PROJECT_UPDATED");
+    }
+}
@@ -0,0 +1,115 @@
+package pt.taskflow.tasks.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The filter on its own with the default routes and a limit of 10 (NORMAL may use 9, LOW 5).
+ * Requests that start async hold their permit until their AsyncContext completes, which is how
+ * concurrent requests are simulated here.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            new ConcurrencyLimitProperties(10, 1, 10, 1.5, 50, Duration.ofSeconds(2), null),
+            registry, new ObjectMapper().findAndRegisterModules());
+    private final List<AsyncContext> open = new ArrayList<>();
+
+    @Test
+    void lowRoutesGetHalfTheLimit() throws Exception {
+        for (int i = 0; i < 5; i++) assertThat(held("GET", "/diagnostics/simulate/delay").getStatus()).isEqualTo(200);
+
+        assertThat(held("GET", "/diagnostics/simulate/delay").getStatus()).isEqualTo(503);
+        assertThat(held("GET", "/tasks/export").getStatus()).isEqualTo(503); // first match: low, not GET /tasks/** critical
+        assertThat(held("POST", "/tasks").getStatus()).isEqualTo(200);      // unmatched: normal
+        assertThat(rejected("low")).isEqualTo(2);
+    }
+
+    @Test
+    void criticalRoutesUseTheWholeLimit() throws Exception {
+        for (int i = 0; i < 9; i++) assertThat(held("POST", "/tasks").getStatus()).isEqualTo(200);
+
+        assertThat(held("POST", "/tasks").getStatus()).isEqualTo(503);
+        assertThat(held("GET", "/tasks/42").getStatus()).isEqualTo(200);
+        assertThat(held("GET", "/tasks/43").getStatus()).isEqualTo(503);
+        assertThat(filter.limiter().inFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void shedRequestsGet503WithRetryAfter() throws Exception {
+        for (int i = 0; i < 10; i++) held("GET", "/tasks");
+
+        MockHttpServletResponse response = held("GET", "/tasks");
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsString()).contains("\"status\":503").contains("\"path\":\"/tasks\"");
+    }
+
+    @Test
+    void exemptRoutesPassWhenFull() throws Exception {
+        for (int i = 0; i < 10; i++) held("GET", "/tasks");
+
+        assertThat(held("GET", "/actuator/health").getStatus()).isEqualTo(200);
+        assertThat(held("GET", "/tasks/stream").getStatus()).isEqualTo(200);
+        assertThat(held("POST", "/internal/cache/invalidate").getStatus()).isEqualTo(200);
+        assertThat(filter.limiter().inFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void asyncRequestsHoldTheirPermitUntilComplete() throws Exception {
+        held("GET", "/tasks/1");
+        held("GET", "/tasks/2");
+        assertThat(filter.limiter().inFlight()).isEqualTo(2);
+
+        open.get(0).complete();
+        assertThat(filter.limiter().inFlight()).isEqualTo(1);
+
+        for (AsyncListener listener : ((MockAsyncContext) open.get(1)).getListeners())
+            listener.onTimeout(new AsyncEvent(open.get(1)));
+        assertThat(filter.limiter().inFlight()).isZero();
+    }
+
+    @Test
+    void synchronousRequestsReleaseOnReturn() throws Exception {
+        MockHttpServletRequest request = request("GET", "/tasks");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {});
+
+        assertThat(filter.limiter().inFlight()).isZero();
+    }
+
+    /** One request whose handler goes async (like a Mono result), so it keeps its permit. */
+    private MockHttpServletResponse held(String method, String path) throws Exception {
+        MockHttpServletRequest request = request(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain asyncHandler = (req, res) -> open.add(req.startAsync(req, res));
+        filter.doFilter(request, response, asyncHandler);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private double rejected(String priority) {
+        return registry.get("tasks.concurrency.rejected").tag("priority", priority).counter().count();
+    }
+}
@@ -0,0 +1,105 @@
+package pt.taskflow.tasks.config;
+
+import com.google.protobuf.Timestamp;
+import org.junit.jupiter.api.Test;
+import pt.taskflow.tasks.domain.Task;
+import pt.taskflow.tasks.proto.TaskList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written encoder of TaskProtobufHttpMessageConverter, decoded with the classes protoc
+ * generates from src/main/proto/task.proto (what clients use). Needs -Pprotobuf, see pom.xml.
+ */
+class TaskProtobufRoundTripTest {
+
+    private static final Task FULL = Task.builder()
+            .id("0192f0c4-7b1e-7c3a-9d2e-5f6a7b8c9d0e")
+            .title("Relatório trimestral ✓")
+            .description("long enough to need a two-byte length varint: " + "x".repeat(200))
+            .status("DOING")
+            .projectId("p-42")
+            .assignee("ana")
+            .createdAt(Instant.parse("2025-03-01T10:15:30.123456789Z"))
+            .updatedAt(Instant.parse("2025-03-02T00:00:00Z"))
+            .version(300_000_000_000L)
+            .build();
+
+    private static final Task SPARSE = Task.builder()
+            .id("t-2")
+            .title("no optionals")
+            .status("TODO")
+            .createdAt(Instant.parse("1969-12-31T23:59:59.5Z")) // negative seconds: 10-byte varint
+            .version(0L)
+            .build();
+
+    @Test
+    void singleTaskDecodesWithTheGeneratedClasses() throws Exception {
+        pt.taskflow.tasks.proto.Task decoded =
+                pt.taskflow.tasks.proto.Task.parseFrom(encode(FULL));
+
+        assertSame(FULL, decoded);
+    }
+
+    @Test
+    void listDecodesWithTheGeneratedClasses() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskProtobufHttpMessageConverter.writeList(List.of(FULL, SPARSE), out);
+
+        TaskList decoded = TaskList.parseFrom(out.toByteArray());
+
+        assertThat(decoded.getTasksCount()).isEqualTo(2);
+        assertSame(FULL, decoded.getTasks(0));
+        assertSame(SPARSE, decoded.getTasks(1));
+        assertThat(decoded.getUnknownFields().asMap()).isEmpty();
+    }
+
+    @Test
+    void nullFieldsAreUnset() throws Exception {
+        pt.taskflow.tasks.proto.Task decoded =
+                pt.taskflow.tasks.proto.Task.parseFrom(encode(SPARSE));
+
+        assertThat(decoded.hasDescription()).isFalse();
+        assertThat(decoded.hasProjectId()).isFalse();
+        assertThat(decoded.hasAssignee()).isFalse();
+        assertThat(decoded.hasUpdatedAt()).isFalse();
+        assertThat(decoded.getVersion()).isZero();
+    }
+
+    @Test
+    void emptyListIsEmptyMessage() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskProtobufHttpMessageConverter.writeList(List.of(), out);
+
+        assertThat(out.size()).isZero();
+        assertThat(TaskList.parseFrom(out.toByteArray()).getTasksCount()).isZero();
+    }
+
+    private static byte[] encode(Task task) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskProtobufHttpMessageConverter.encode(task).writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static void assertSame(Task expected, pt.taskflow.tasks.proto.Task actual) {
+        assertThat(actual.getId()).isEqualTo(expected.getId());
+        assertThat(actual.getTitle()).isEqualTo(expected.getTitle());
+        assertThat(actual.hasDescription() ? actual.getDescription() : null).isEqualTo(expected.getDescription());
+        assertThat(actual.getStatus()).isEqualTo(expected.getStatus());
+        assertThat(actual.hasProjectId() ? actual.getProjectId() : null).isEqualTo(expected.getProjectId());
+        assertThat(actual.hasAssignee() ? actual.getAssignee() : null).isEqualTo(expected.getAssignee());
+        assertThat(instant(actual.hasCreatedAt(), actual.getCreatedAt())).isEqualTo(expected.getCreatedAt());
+        assertThat(instant(actual.hasUpdatedAt(), actual.getUpdatedAt())).isEqualTo(expected.getUpdatedAt());
+        assertThat(actual.getVersion()).isEqualTo(expected.getVersion());
+        assertThat(actual.getUnknownFields().asMap()).isEmpty();
+    }
+
+    private static Instant instant(boolean present, Timestamp t) {
+        return present ? Instant.ofEpochSecond(t.getSeconds(), t.getNanos()) : null;
+    }
+}
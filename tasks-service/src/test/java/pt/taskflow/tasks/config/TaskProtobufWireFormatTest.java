@@ -0,0 +1,193 @@
+package pt.taskflow.tasks.config;
+
+import org.junit.jupiter.api.Test;
+import pt.taskflow.tasks.domain.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written encoder of TaskProtobufHttpMessageConverter, decoded by the small wire-format
+ * reader below, so it is checked in every build (TaskProtobufRoundTripTest, which uses the classes
+ * generated from task.proto, only runs with -Pprotobuf). The reader fails on wire types that do
+ * not match task.proto, on repeated scalar fields and on unknown field numbers.
+ */
+class TaskProtobufWireFormatTest {
+
+    private static final Task FULL = Task.builder()
+            .id("0192f0c4-7b1e-7c3a-9d2e-5f6a7b8c9d0e")
+            .title("Relatório trimestral ✓")
+            .description("long enough to need a two-byte length varint: " + "x".repeat(200))
+            .status("DOING")
+            .projectId("p-42")
+            .assignee("ana")
+            .createdAt(Instant.parse("2025-03-01T10:15:30.123456789Z"))
+            .updatedAt(Instant.parse("2025-03-02T00:00:00Z")) // zero nanos: no nanos field
+            .version(300_000_000_000L)
+            .build();
+
+    private static final Task SPARSE = Task.builder()
+            .id("t-2")
+            .title("no optionals")
+            .status("TODO")
+            .createdAt(Instant.parse("1969-12-31T23:59:59.5Z")) // negative seconds: 10-byte varint
+            .version(0L)
+            .build();
+
+    @Test
+    void singleTaskDecodes() throws Exception {
+        assertThat(Reader.task(encode(FULL))).usingRecursiveComparison().isEqualTo(FULL);
+    }
+
+    @Test
+    void nullOptionalsAndZeroVersionAreOmitted() throws Exception {
+        Task decoded = Reader.task(encode(SPARSE));
+
+        assertThat(decoded.getDescription()).isNull();
+        assertThat(decoded.getProjectId()).isNull();
+        assertThat(decoded.getAssignee()).isNull();
+        assertThat(decoded.getUpdatedAt()).isNull();
+        assertThat(decoded.getVersion()).isNull();
+        assertThat(decoded.getCreatedAt()).isEqualTo(SPARSE.getCreatedAt());
+    }
+
+    @Test
+    void zeroNanosTimestampHasOnlySeconds() throws Exception {
+        Task task = Task.builder().createdAt(Instant.ofEpochSecond(1)).build();
+
+        // field 7, length 2, { seconds (field 1) = 1 }
+        assertThat(encode(task)).containsExactly(0x3A, 0x02, 0x08, 0x01);
+        assertThat(Reader.task(encode(task)).getCreatedAt()).isEqualTo(Instant.ofEpochSecond(1));
+    }
+
+    @Test
+    void listDecodesInOrder() throws Exception {
+        Task third = Task.builder().id("t-3").title("third").status("DONE").version(1L).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskProtobufHttpMessageConverter.writeList(List.of(FULL, SPARSE, third), out);
+
+        List<Task> decoded = Reader.taskList(out.toByteArray());
+
+        assertThat(decoded).hasSize(3);
+        assertThat(decoded.get(0)).usingRecursiveComparison().isEqualTo(FULL);
+        assertThat(decoded.get(1).getId()).isEqualTo("t-2");
+        assertThat(decoded.get(1).getCreatedAt()).isEqualTo(SPARSE.getCreatedAt());
+        assertThat(decoded.get(2)).usingRecursiveComparison().isEqualTo(third);
+    }
+
+    @Test
+    void emptyListIsEmptyMessage() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskProtobufHttpMessageConverter.writeList(List.of(), out);
+
+        assertThat(out.size()).isZero();
+    }
+
+    private static byte[] encode(Task task) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskProtobufHttpMessageConverter.encode(task).writeTo(out);
+        return out.toByteArray();
+    }
+
+    /** Decodes message Task / TaskList of task.proto (varint and length-delimited fields only). */
+    private static final class Reader {
+
+        private final byte[] buf;
+        private int pos;
+        private final int end;
+
+        private Reader(byte[] buf, int from, int to) {
+            this.buf = buf;
+            this.pos = from;
+            this.end = to;
+        }
+
+        static List<Task> taskList(byte[] bytes) {
+            Reader r = new Reader(bytes, 0, bytes.length);
+            List<Task> tasks = new ArrayList<>();
+            while (r.pos < r.end) {
+                r.expectTag(1, 2);
+                tasks.add(r.message().task());
+            }
+            return tasks;
+        }
+
+        static Task task(byte[] bytes) {
+            return new Reader(bytes, 0, bytes.length).task();
+        }
+
+        private Task task() {
+            Task t = new Task();
+            boolean[] seen = new boolean[10];
+            while (pos < end) {
+                long tag = varint();
+                int field = (int) (tag >>> 3);
+                assertThat(field).as("field number").isBetween(1, 9);
+                assertThat(seen[field]).as("field %d repeated", field).isFalse();
+                seen[field] = true;
+                assertThat((int) (tag & 7)).as("wire type of field %d", field).isEqualTo(field == 9 ? 0 : 2);
+                switch (field) {
+                    case 1 -> t.setId(string());
+                    case 2 -> t.setTitle(string());
+                    case 3 -> t.setDescription(string());
+                    case 4 -> t.setStatus(string());
+                    case 5 -> t.setProjectId(string());
+                    case 6 -> t.setAssignee(string());
+                    case 7 -> t.setCreatedAt(message().timestamp());
+                    case 8 -> t.setUpdatedAt(message().timestamp());
+                    default -> t.setVersion(varint());
+                }
+            }
+            assertThat(pos).as("message length").isEqualTo(end);
+            return t;
+        }
+
+        /** google.protobuf.Timestamp; both fields are optional on the wire (0 when absent). */
+        private Instant timestamp() {
+            long seconds = 0;
+            long nanos = 0;
+            while (pos < end) {
+                long tag = varint();
+                assertThat(tag).as("timestamp tag").isIn(1L << 3, 2L << 3);
+                if (tag == 1L << 3) seconds = varint();
+                else nanos = varint();
+            }
+            return Instant.ofEpochSecond(seconds, (int) nanos);
+        }
+
+        private void expectTag(int field, int wireType) {
+            assertThat(varint()).isEqualTo((long) field << 3 | wireType);
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                assertThat(pos).as("truncated varint").isLessThan(end);
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new AssertionError("varint longer than 10 bytes");
+        }
+
+        private Reader message() {
+            int length = (int) varint();
+            assertThat(pos + length).as("length-delimited field").isLessThanOrEqualTo(end);
+            Reader nested = new Reader(buf, pos, pos + length);
+            pos += length;
+            return nested;
+        }
+
+        private String string() {
+            Reader r = message();
+            return new String(Arrays.copyOfRange(buf, r.pos, r.end), StandardCharsets.UTF_8);
+        }
+    }
+}
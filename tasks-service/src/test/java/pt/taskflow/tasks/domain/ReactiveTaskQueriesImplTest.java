@@ -0,0 +1,107 @@
+package pt.taskflow.tasks.domain;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset paging of the reactive profile against r2dbc-h2, on the dev schema (schema-h2.sql).
+ * Timestamps repeat on purpose, so pages must also break ties on id.
+ */
+class ReactiveTaskQueriesImplTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private ReactiveTaskQueriesImpl queries;
+    private List<Task> stored;
+
+    @BeforeEach
+    void setUp() {
+        // same URL shape as config-repo/tasks-service-reactive.yml, one database per test
+        ConnectionFactory db = ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        new ResourceDatabasePopulator(new ClassPathResource("schema-h2.sql")).populate(db).block();
+        queries = new ReactiveTaskQueriesImpl(new R2dbcEntityTemplate(db));
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Task t = Task.builder().title("t" + i).status(i % 3 == 0 ? "DONE" : "TODO").build();
+            t.prePersist();
+            t.setCreatedAt(T0.plusSeconds(i / 4)); // 4 tasks per instant
+            t.setUpdatedAt(T0.plusSeconds(i / 5));
+            tasks.add(t);
+        }
+        stored = queries.insertAll(tasks).collectList().block();
+    }
+
+    @Test
+    void insertStartsVersionAtZero() {
+        assertThat(stored).hasSize(23).allSatisfy(t -> assertThat(t.getVersion()).isZero());
+    }
+
+    @Test
+    void createdAtPagesWalkEveryTaskNewestFirstOnce() {
+        List<Task> seen = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Task> page;
+        do {
+            page = queries.scrollByCreatedAt(null, null, position, Limit.of(5)).block();
+            seen.addAll(page.getContent());
+            if (page.hasNext()) position = page.positionAt(page.size() - 1);
+        } while (page.hasNext());
+
+        assertThat(seen).extracting(Task::getId).containsExactlyElementsOf(stored.stream()
+                .sorted(Comparator.comparing(Task::getCreatedAt).thenComparing(Task::getId).reversed())
+                .map(Task::getId).toList());
+    }
+
+    @Test
+    void statusFilterAppliesToEveryPage() {
+        Window<Task> first = queries.scrollByCreatedAt("DONE", null, ScrollPosition.keyset(), Limit.of(5)).block();
+        Window<Task> second = queries.scrollByCreatedAt("DONE", null, first.positionAt(first.size() - 1), Limit.of(5)).block();
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isFalse();
+        assertThat(Flux.concat(Flux.fromIterable(first), Flux.fromIterable(second)).collectList().block())
+                .hasSize(8).allSatisfy(t -> assertThat(t.getStatus()).isEqualTo("DONE"));
+    }
+
+    @Test
+    void updatedAtPagesStartAtSinceOldestFirst() {
+        Instant since = T0.plusSeconds(2);
+        List<Task> seen = new ArrayList<>();
+        Map<String, Object> keys = new LinkedHashMap<>(); // first page of GET /tasks/changes?since=
+        keys.put("updatedAt", since);
+        keys.put("id", "");
+        ScrollPosition position = ScrollPosition.forward(keys);
+        Window<Task> page;
+        do {
+            page = queries.scrollByUpdatedAt(null, position, Limit.of(4)).block();
+            seen.addAll(page.getContent());
+            if (page.hasNext()) position = page.positionAt(page.size() - 1);
+        } while (page.hasNext());
+
+        assertThat(seen).extracting(Task::getId).containsExactlyElementsOf(stored.stream()
+                .filter(t -> !t.getUpdatedAt().isBefore(since))
+                .sorted(Comparator.comparing(Task::getUpdatedAt).thenComparing(Task::getId))
+                .map(Task::getId).toList());
+    }
+}
@@ -0,0 +1,72 @@
+package pt.taskflow.tasks.infra;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two BroadcastingCacheManagers on one LocalCacheInvalidationBus stand in for two replicas.
+ */
+class BroadcastingCacheManagerTest {
+
+    private final LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+    private final BroadcastingCacheManager replicaA = new BroadcastingCacheManager(new CaffeineCacheManager("tasks"), bus);
+    private final BroadcastingCacheManager replicaB = new BroadcastingCacheManager(new CaffeineCacheManager("tasks"), bus);
+
+    @Test
+    void evictOnOneReplicaEvictsOnTheOther() {
+        replicaA.getCache("tasks").put("t1", "a");
+        replicaB.getCache("tasks").put("t1", "b");
+
+        replicaA.getCache("tasks").evict("t1");
+
+        assertThat(replicaB.getCache("tasks").get("t1")).isNull();
+    }
+
+    @Test
+    void putStaysLocal() {
+        replicaB.getCache("tasks").put("t1", "b");
+
+        replicaA.getCache("tasks").put("t1", "a");
+        replicaA.getCache("tasks").putIfAbsent("t2", "a");
+
+        assertThat(replicaA.getCache("tasks").get("t1", String.class)).isEqualTo("a");
+        assertThat(replicaB.getCache("tasks").get("t1", String.class)).isEqualTo("b");
+    }
+
+    @Test
+    void putPublishesNothing() {
+        List<CacheInvalidationBus.Invalidation> published = new ArrayList<>();
+        bus.subscribe(published::add);
+
+        replicaA.getCache("tasks").put("t1", "a");
+        replicaA.getCache("tasks").putIfAbsent("t2", "a");
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void clearIsBroadcast() {
+        Cache b = replicaB.getCache("tasks");
+        b.put("t1", "x");
+        b.put("t2", "y");
+
+        replicaA.getCache("tasks").clear();
+
+        assertThat(b.get("t1")).isNull();
+        assertThat(b.get("t2")).isNull();
+    }
+
+    @Test
+    void ownMessagesAreNotReapplied() {
+        Cache a = replicaA.getCache("tasks");
+        a.put("t1", "mine");
+
+        assertThat(a.get("t1", String.class)).isEqualTo("mine");
+    }
+}
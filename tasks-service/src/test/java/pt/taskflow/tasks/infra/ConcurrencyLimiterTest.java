@@ -0,0 +1,90 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter.Outcome;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter.Permit;
+import pt.taskflow.tasks.infra.ConcurrencyLimiter.Priority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latencies are fed through sample() (one window = 10 requests), so the limit's reaction can be
+ * checked without real load.
+ */
+class ConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 20, 4, 100, 1.5, 10, registry);
+
+    @Test
+    void rejectsAboveTheLimitUntilAPermitIsReleased() {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) permits.add(limiter.tryAcquire(Priority.CRITICAL));
+
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isNull();
+        assertThat(registry.get("tasks.concurrency.rejected").tag("priority", "critical").counter().count()).isEqualTo(1);
+
+        permits.get(0).release(Outcome.IGNORE);
+        permits.get(0).release(Outcome.IGNORE); // twice: still one permit back
+
+        assertThat(limiter.inFlight()).isEqualTo(19);
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isNotNull();
+    }
+
+    @Test
+    void lowerPrioritiesGetAShareOfTheLimit() {
+        for (int i = 0; i < 10; i++) assertThat(limiter.tryAcquire(Priority.LOW)).isNotNull();
+        assertThat(limiter.tryAcquire(Priority.LOW)).isNull();
+
+        for (int i = 0; i < 8; i++) assertThat(limiter.tryAcquire(Priority.NORMAL)).isNotNull();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isNull();
+
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isNotNull();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isNotNull();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isNull();
+    }
+
+    @Test
+    void growsWhileLatencyIsStableAndBusy() {
+        windows(20, 5 * MS, 20, false);
+
+        assertThat(limiter.limit()).isGreaterThan(30);
+    }
+
+    @Test
+    void doesNotGrowWhenMostOfTheLimitIsUnused() {
+        windows(20, 5 * MS, 3, false);
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        windows(10, 5 * MS, 20, false);
+        int before = limiter.limit();
+
+        windows(5, 50 * MS, before, false);
+
+        assertThat(limiter.limit()).isLessThan(before);
+    }
+
+    @Test
+    void backsOffOnDropsAndStaysAboveTheMinimum() {
+        windows(50, 5 * MS, 20, true);
+
+        assertThat(limiter.limit()).isEqualTo(4);
+        assertThat(registry.get("tasks.concurrency.limit").tag("limiter", "test").gauge().value()).isEqualTo(4);
+    }
+
+    private void windows(int count, long rtt, int inFlight, boolean dropped) {
+        for (int i = 0; i < count * 10; i++) limiter.sample(rtt, inFlight, dropped);
+    }
+}
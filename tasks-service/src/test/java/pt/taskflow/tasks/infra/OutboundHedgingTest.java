@@ -0,0 +1,150 @@
+package pt.taskflow.tasks.infra;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two instances behind a round-robin balancer ("a" is always the primary); each request is a
+ * Mono that answers after the latency set for its instance.
+ */
+class OutboundHedgingTest {
+
+    private static final List<ServiceInstance> INSTANCES = List.of(
+            new DefaultServiceInstance("a", "svc", "10.0.0.1", 8080, false),
+            new DefaultServiceInstance("b", "svc", "10.0.0.2", 8080, false));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void budgetStartsFullAndRefillsPerCall() {
+        OutboundHedging.Budget budget = new OutboundHedging.Budget(0.5, 2);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isFalse(); // half a hedge
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void budgetNeverExceedsItsMaximum() {
+        OutboundHedging.Budget budget = new OutboundHedging.Budget(1, 1);
+
+        for (int i = 0; i < 5; i++) budget.deposit();
+        budget.refund();
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() {
+        OutboundHedging hedging = hedging(10);
+
+        String winner = hedging.call("svc", respond(Map.of("a", 5, "b", 5))).block();
+
+        assertThat(winner).isEqualTo("a");
+        assertThat(counter("tasks.outbound.hedge.sent")).isZero();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndCancelledPrimaryStillCounts() {
+        OutboundHedging hedging = hedging(10);
+
+        String winner = hedging.call("svc", respond(Map.of("a", 2_000, "b", 10))).block(Duration.ofSeconds(1));
+
+        assertThat(winner).isEqualTo("b");
+        assertThat(counter("tasks.outbound.hedge.sent")).isEqualTo(1);
+        assertThat(counter("tasks.outbound.hedge.won")).isEqualTo(1);
+        // The losing primary is recorded with the time it ran (delay + hedge), not left out
+        assertThat(registry.get("tasks.outbound.hedge.primary").timer().count()).isEqualTo(1);
+        assertThat(registry.get("tasks.outbound.hedge.primary").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void failedPrimaryIsHedgedAtOnce() {
+        OutboundHedging hedging = hedging(10);
+        Map<String, Integer> latency = Map.of("a", -1, "b", 10);
+
+        long start = System.nanoTime();
+        String winner = hedging.call("svc", respond(latency)).block(Duration.ofSeconds(1));
+
+        assertThat(winner).isEqualTo("b");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500)); // delay is 50ms
+    }
+
+    @Test
+    void bothFailingReportsThePrimaryError() {
+        OutboundHedging hedging = hedging(10);
+
+        assertThatThrownBy(() -> hedging.call("svc", respond(Map.of("a", -1, "b", -1))).block(Duration.ofSeconds(1)))
+                .hasMessage("a failed");
+    }
+
+    @Test
+    void noBudgetMeansNoHedge() {
+        OutboundHedging hedging = hedging(0);
+
+        String winner = hedging.call("svc", respond(Map.of("a", 100, "b", 5))).block(Duration.ofSeconds(1));
+
+        assertThat(winner).isEqualTo("a");
+        assertThat(counter("tasks.outbound.hedge.sent")).isZero();
+        assertThat(registry.get("tasks.outbound.hedge.skipped").tag("reason", "budget").counter().count()).isEqualTo(1);
+    }
+
+    /** Fixed 50ms hedge delay. */
+    private OutboundHedging hedging(int budgetMax) {
+        AtomicInteger next = new AtomicInteger();
+        ReactiveLoadBalancer<ServiceInstance> roundRobin =
+                request -> Mono.just(new DefaultResponse(INSTANCES.get(next.getAndIncrement() % INSTANCES.size())));
+        ReactiveLoadBalancer.Factory<ServiceInstance> factory = new ReactiveLoadBalancer.Factory<>() {
+            @Override
+            public ReactiveLoadBalancer<ServiceInstance> getInstance(String serviceId) {
+                return "svc".equals(serviceId) ? roundRobin : null;
+            }
+
+            @Override
+            public <X> Map<String, X> getInstances(String name, Class<X> type) {
+                return Map.of();
+            }
+
+            @Override
+            public <X> X getInstance(String name, Class<?> clazz, Class<?>... generics) {
+                return null;
+            }
+        };
+        return new OutboundHedging(factory, registry, true, Duration.ofMillis(50), 0, 20, 0.1, budgetMax);
+    }
+
+    /** Latency in ms per instance id; negative = fails at once. The value is the instance id. */
+    private static Function<ServiceInstance, Mono<String>> respond(Map<String, Integer> latency) {
+        return instance -> {
+            int ms = latency.get(instance.getInstanceId());
+            if (ms < 0) return Mono.error(new IllegalStateException(instance.getInstanceId() + " failed"));
+            return Mono.delay(Duration.ofMillis(ms)).thenReturn(instance.getInstanceId());
+        };
+    }
+
+    private double counter(String name) {
+        return registry.get(name).counter().count();
+    }
+}
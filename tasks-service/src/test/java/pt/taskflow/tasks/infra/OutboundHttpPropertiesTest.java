@@ -0,0 +1,48 @@
+package pt.taskflow.tasks.infra;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** demo.outbound.http.* as Boot binds it: defaults, global values and per-service overrides. */
+class OutboundHttpPropertiesTest {
+
+    @Test
+    void defaultsMatchConfigRepo() {
+        OutboundTransports.Settings settings = bind(Map.of()).settings("any");
+
+        assertThat(settings.maxConnections()).isEqualTo(100);
+        assertThat(settings.pendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(settings.responseTimeout()).isZero();
+        assertThat(settings.protocols()).containsExactly(HttpProtocol.HTTP11);
+    }
+
+    @Test
+    void serviceOverridesOnlyWhatItSets() {
+        OutboundHttpProperties properties = bind(Map.of(
+                "demo.outbound.http.max-connections", "40",
+                "demo.outbound.http.max-idle-time", "10s",
+                "demo.outbound.http.services.tasks-service.max-connections", "5",
+                "demo.outbound.http.services.tasks-service.protocols", "H2C,HTTP11"));
+
+        OutboundTransports.Settings service = properties.settings("tasks-service");
+        assertThat(service.maxConnections()).isEqualTo(5);
+        assertThat(service.maxIdleTime()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(service.protocols()).containsExactly(HttpProtocol.H2C, HttpProtocol.HTTP11);
+
+        OutboundTransports.Settings other = properties.settings(OutboundTransports.DEFAULT);
+        assertThat(other.maxConnections()).isEqualTo(40);
+        assertThat(other.protocols()).containsExactly(HttpProtocol.HTTP11);
+    }
+
+    private static OutboundHttpProperties bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("demo.outbound.http", OutboundHttpProperties.class);
+    }
+}